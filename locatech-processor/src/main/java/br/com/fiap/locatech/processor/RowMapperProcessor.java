@@ -0,0 +1,147 @@
+package br.com.fiap.locatech.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Gera um {@code <Entidade>RowMapper} para cada classe anotada com {@code @GerarRowMapper}.
+ * <p>
+ * O mapper lê as colunas por posição, na ordem de declaração dos campos, e chama o construtor com todos os
+ * campos (o {@code @AllArgsConstructor} do Lombok). A constante {@code COLUNAS} traz os nomes das colunas
+ * em snake_case, nessa mesma ordem, para montar a lista do {@code SELECT}, e {@code campos(prefixo)} devolve
+ * os mesmos campos como {@code Projecao.Campo}, lidos pelos setters, para as consultas de {@code ?fields=}.
+ */
+@SupportedAnnotationTypes(RowMapperProcessor.ANOTACAO)
+public class RowMapperProcessor extends AbstractProcessor {
+
+    static final String ANOTACAO = "br.com.fiap.locatech.locatech.entities.GerarRowMapper";
+    static final String PROJECAO = "br.com.fiap.locatech.locatech.repositories.Projecao";
+
+    private static final Map<String, String> LEITURAS = Map.of(
+            "int", "rs.getInt(%s)",
+            "long", "rs.getLong(%s)",
+            "double", "rs.getDouble(%s)",
+            "boolean", "rs.getBoolean(%s)",
+            "java.lang.String", "rs.getString(%s)",
+            "java.math.BigDecimal", "rs.getBigDecimal(%s)"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (var anotacao : annotations) {
+            for (Element elemento : roundEnv.getElementsAnnotatedWith(anotacao)) {
+                if (elemento.getKind() != ElementKind.CLASS) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "@GerarRowMapper só pode ser usada em classes", elemento);
+                    continue;
+                }
+                try {
+                    this.gerar((TypeElement) elemento);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Erro ao gerar o RowMapper: " + e.getMessage(), elemento);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void gerar(TypeElement entidade) throws IOException {
+
+        var pacote = this.processingEnv.getElementUtils().getPackageOf(entidade).getQualifiedName().toString();
+        var nomeEntidade = entidade.getSimpleName().toString();
+        var nomeMapper = nomeEntidade + "RowMapper";
+        List<VariableElement> campos = ElementFilter.fieldsIn(entidade.getEnclosedElements()).stream()
+                .filter(campo -> !campo.getModifiers().contains(Modifier.STATIC))
+                .toList();
+
+        var colunas = campos.stream()
+                .map(campo -> snakeCase(campo.getSimpleName().toString()))
+                .collect(Collectors.joining(", "));
+
+        var arquivo = this.processingEnv.getFiler().createSourceFile(pacote + "." + nomeMapper, entidade);
+        try (var out = new PrintWriter(arquivo.openWriter())) {
+            out.println("package " + pacote + ";");
+            out.println();
+            out.println("import java.sql.ResultSet;");
+            out.println("import java.sql.SQLException;");
+            out.println("import java.util.List;");
+            out.println("import javax.annotation.processing.Generated;");
+            out.println("import org.springframework.jdbc.core.RowMapper;");
+            out.println("import " + PROJECAO + ";");
+            out.println();
+            out.println("@Generated(\"" + RowMapperProcessor.class.getName() + "\")");
+            out.println("public final class " + nomeMapper + " implements RowMapper<" + nomeEntidade + "> {");
+            out.println();
+            out.println("    public static final String COLUNAS = \"" + colunas + "\";");
+            out.println();
+            out.println("    public static final " + nomeMapper + " INSTANCE = new " + nomeMapper + "();");
+            out.println();
+            out.println("    private " + nomeMapper + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + nomeEntidade + " mapRow(ResultSet rs, int rowNum) throws SQLException {");
+            out.println("        return new " + nomeEntidade + "(");
+            for (int i = 0; i < campos.size(); i++) {
+                var separador = i < campos.size() - 1 ? "," : "";
+                out.println("                " + leitura(campos.get(i), String.valueOf(i + 1)) + separador);
+            }
+            out.println("        );");
+            out.println("    }");
+            out.println();
+            out.println("    public static List<Projecao.Campo<" + nomeEntidade + ">> campos(String prefixo) {");
+            out.println("        return List.of(");
+            for (int i = 0; i < campos.size(); i++) {
+                var campo = campos.get(i);
+                var nome = campo.getSimpleName().toString();
+                var separador = i < campos.size() - 1 ? "," : "";
+                out.println("                new Projecao.Campo<" + nomeEntidade + ">(\"" + nome + "\", prefixo + \""
+                        + snakeCase(nome) + "\", (entidade, rs, i) -> entidade.set" + capitalizar(nome) + "("
+                        + leitura(campo, "i") + "))" + separador);
+            }
+            out.println("        );");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private static String leitura(VariableElement campo, String indice) {
+
+        var tipo = campo.asType().toString();
+        var leitura = LEITURAS.get(tipo);
+        if (leitura != null) {
+            return String.format(leitura, indice);
+        }
+        return String.format("rs.getObject(%s, %s.class)", indice, tipo);
+    }
+
+    private static String capitalizar(String nome) {
+        return Character.toUpperCase(nome.charAt(0)) + nome.substring(1);
+    }
+
+    private static String snakeCase(String nome) {
+        return nome.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
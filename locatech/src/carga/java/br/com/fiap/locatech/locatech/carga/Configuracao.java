@@ -0,0 +1,109 @@
+package br.com.fiap.locatech.locatech.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos dos argumentos no formato {@code chave=valor}.
+ * <p>
+ * Argumentos que começam com {@code spring.}, {@code server.} ou {@code locatech.} são repassados como
+ * propriedades da aplicação testada, por exemplo {@code locatech.alugueis.group-commit.enabled=true}.
+ */
+record Configuracao(
+        int taxa,
+        Duration duracao,
+        Duration aquecimento,
+        Map<Operacao, Integer> mix,
+        int veiculos,
+        int pessoas,
+        int alugueis,
+        int tamanhoPagina,
+        int maximoEmVoo,
+        long semente,
+        Path saida,
+        Map<String, String> propriedades
+) {
+
+    private static final Map<String, String> PADROES = Map.ofEntries(
+            Map.entry("taxa", "200"),
+            Map.entry("duracao", "60s"),
+            Map.entry("aquecimento", "15s"),
+            Map.entry("mix", "veiculos:40,alugueis:30,reservar:15,alterar:10,remover:5"),
+            Map.entry("veiculos", "1000"),
+            Map.entry("pessoas", "1000"),
+            Map.entry("alugueis", "10000"),
+            Map.entry("tamanho-pagina", "20"),
+            Map.entry("maximo-em-voo", "10000"),
+            Map.entry("semente", "42"),
+            Map.entry("saida", "target/carga")
+    );
+
+    static Configuracao de(String[] args) {
+
+        Map<String, String> valores = new HashMap<>(PADROES);
+        Map<String, String> propriedades = new LinkedHashMap<>();
+        for (var arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            var separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento fora do formato chave=valor: " + arg);
+            }
+            var chave = arg.substring(0, separador).trim();
+            var valor = arg.substring(separador + 1).trim();
+            if (chave.startsWith("spring.") || chave.startsWith("server.") || chave.startsWith("locatech.")) {
+                propriedades.put(chave, valor);
+            } else if (PADROES.containsKey(chave)) {
+                valores.put(chave, valor);
+            } else {
+                throw new IllegalArgumentException("Parâmetro desconhecido: " + chave);
+            }
+        }
+
+        var taxa = Integer.parseInt(valores.get("taxa"));
+        if (taxa <= 0) {
+            throw new IllegalArgumentException("A taxa precisa ser maior que zero");
+        }
+        return new Configuracao(
+                taxa,
+                DurationStyle.detectAndParse(valores.get("duracao")),
+                DurationStyle.detectAndParse(valores.get("aquecimento")),
+                mix(valores.get("mix")),
+                Integer.parseInt(valores.get("veiculos")),
+                Integer.parseInt(valores.get("pessoas")),
+                Integer.parseInt(valores.get("alugueis")),
+                Integer.parseInt(valores.get("tamanho-pagina")),
+                Integer.parseInt(valores.get("maximo-em-voo")),
+                Long.parseLong(valores.get("semente")),
+                Path.of(valores.get("saida")),
+                propriedades
+        );
+    }
+
+    // veiculos:40,alugueis:30,... — pesos relativos; operações fora da lista não são enviadas
+    private static Map<Operacao, Integer> mix(String texto) {
+
+        Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+        for (var parte : texto.split(",")) {
+            var pesos = parte.split(":");
+            if (pesos.length != 2) {
+                throw new IllegalArgumentException("Item do mix fora do formato operacao:peso: " + parte);
+            }
+            var peso = Integer.parseInt(pesos[1].trim());
+            if (peso > 0) {
+                mix.put(Operacao.daChave(pesos[0].trim()), peso);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de pelo menos uma operação com peso maior que zero");
+        }
+        return mix;
+    }
+}
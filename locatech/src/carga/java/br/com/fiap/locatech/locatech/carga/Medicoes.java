@@ -0,0 +1,126 @@
+package br.com.fiap.locatech.locatech.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latências e status das respostas de uma fase do teste, separados por operação.
+ * <p>
+ * A latência vai do instante em que a requisição deveria ter saído, pela taxa configurada, até a resposta.
+ * Assim um atraso do servidor que segura o gerador também entra nas requisições seguintes, em vez de
+ * sumir da medição (coordinated omission). Os valores ficam em microssegundos e são relatados em ms.
+ */
+final class Medicoes {
+
+    private final Map<Operacao, Medicao> porOperacao = new EnumMap<>(Operacao.class);
+    private final LongAccumulator atrasoMaximo = new LongAccumulator(Math::max, 0);
+
+    Medicoes() {
+        for (var operacao : Operacao.values()) {
+            this.porOperacao.put(operacao, new Medicao());
+        }
+    }
+
+    void registrar(Operacao operacao, long previsto, long fim, int status) {
+
+        var medicao = this.porOperacao.get(operacao);
+        medicao.latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - previsto));
+        medicao.status.computeIfAbsent(status, chave -> new LongAdder()).increment();
+    }
+
+    void falha(Operacao operacao, long previsto, long fim) {
+
+        var medicao = this.porOperacao.get(operacao);
+        medicao.latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - previsto));
+        medicao.falhas.increment();
+    }
+
+    void semAlvo(Operacao operacao) {
+        this.porOperacao.get(operacao).semAlvo.increment();
+    }
+
+    void descartada(Operacao operacao) {
+        this.porOperacao.get(operacao).descartadas.increment();
+    }
+
+    // quanto o gerador saiu depois do instante previsto; valores altos indicam que o cliente virou gargalo
+    void atraso(long nanos) {
+        this.atrasoMaximo.accumulate(nanos);
+    }
+
+    void relatar(PrintStream saida, Duration duracao, Path diretorio) throws IOException {
+
+        var segundos = duracao.toNanos() / 1e9;
+        var total = new Histogram(3);
+        saida.printf("%n%-20s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Operação", "Respostas", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "Status");
+        for (var entrada : this.porOperacao.entrySet()) {
+            var medicao = entrada.getValue();
+            var latencias = medicao.latencias.copy();
+            if (latencias.getTotalCount() == 0 && medicao.semAlvo.sum() == 0 && medicao.descartadas.sum() == 0) {
+                continue;
+            }
+            total.add(latencias);
+            linha(saida, entrada.getKey().descricao(), latencias, segundos, medicao.resumo());
+            Files.createDirectories(diretorio);
+            try (var arquivo = new PrintStream(Files.newOutputStream(diretorio.resolve(entrada.getKey().chave() + ".hgrm")))) {
+                latencias.outputPercentileDistribution(arquivo, 1000.0);
+            }
+        }
+        linha(saida, "Total", total, segundos, "");
+        saida.printf("%nAtraso máximo do gerador: %.3f ms%n", this.atrasoMaximo.get() / 1e6);
+        saida.printf("Distribuições completas (HdrHistogram, em ms) em %s%n", diretorio.toAbsolutePath());
+    }
+
+    private static void linha(PrintStream saida, String nome, Histogram latencias, double segundos, String resumo) {
+
+        saida.printf("%-20s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", nome, latencias.getTotalCount(),
+                latencias.getTotalCount() / segundos,
+                latencias.getValueAtPercentile(50) / 1000.0,
+                latencias.getValueAtPercentile(90) / 1000.0,
+                latencias.getValueAtPercentile(99) / 1000.0,
+                latencias.getValueAtPercentile(99.9) / 1000.0,
+                latencias.getMaxValue() / 1000.0,
+                resumo);
+    }
+
+    private static final class Medicao {
+
+        private final ConcurrentHistogram latencias = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> status = new ConcurrentSkipListMap<>();
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder semAlvo = new LongAdder();
+        private final LongAdder descartadas = new LongAdder();
+
+        // 200=950 409=12 falhas=1 ...
+        private String resumo() {
+
+            var resumo = this.status.entrySet().stream()
+                    .map(entrada -> entrada.getKey() + "=" + entrada.getValue().sum())
+                    .collect(Collectors.joining(" "));
+            if (this.falhas.sum() > 0) {
+                resumo += " falhas=" + this.falhas.sum();
+            }
+            if (this.semAlvo.sum() > 0) {
+                resumo += " sem-alvo=" + this.semAlvo.sum();
+            }
+            if (this.descartadas.sum() > 0) {
+                resumo += " descartadas=" + this.descartadas.sum();
+            }
+            return resumo.trim();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fiap.locatech.locatech.carga;
+
+/**
+ * Tipos de requisição do balcão de locação, com o nome usado em {@code mix=} e no relatório.
+ */
+enum Operacao {
+
+    LISTAR_VEICULOS("veiculos", "GET /veiculos"),
+    LISTAR_ALUGUEIS("alugueis", "GET /alugueis"),
+    RESERVAR("reservar", "POST /alugueis"),
+    ALTERAR("alterar", "PUT /alugueis/{id}"),
+    REMOVER("remover", "DELETE /alugueis/{id}");
+
+    private final String chave;
+    private final String descricao;
+
+    Operacao(String chave, String descricao) {
+        this.chave = chave;
+        this.descricao = descricao;
+    }
+
+    String chave() {
+        return this.chave;
+    }
+
+    String descricao() {
+        return this.descricao;
+    }
+
+    static Operacao daChave(String chave) {
+
+        for (var operacao : values()) {
+            if (operacao.chave.equals(chave)) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida no mix: " + chave);
+    }
+}
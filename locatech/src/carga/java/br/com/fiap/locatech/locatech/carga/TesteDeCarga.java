@@ -0,0 +1,159 @@
+package br.com.fiap.locatech.locatech.carga;
+
+import br.com.fiap.locatech.locatech.LocatechApplication;
+import br.com.fiap.locatech.locatech.services.AluguelLeituraReconstrucao;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga em malha aberta da aplicação completa, simulando o balcão de locação.
+ * <p>
+ * Sobe a aplicação em uma porta aleatória sobre um H2 em memória populado como nos benchmarks (um primeiro
+ * contexto migra e popula o banco, o segundo carrega os índices já com os dados) e dispara o mix de
+ * operações a uma taxa fixa de chegada: a requisição {@code i} sai em {@code inicio + i / taxa},
+ * independente de as anteriores já terem respondido. Depois do aquecimento, mede a fase principal e
+ * imprime os percentis e a vazão de cada operação. Tudo roda na máquina local, sem serviços externos.
+ * <p>
+ * Argumentos no formato {@code chave=valor}; veja {@link Configuracao}.
+ */
+public class TesteDeCarga {
+
+    private static final Duration ESPERA_PENDENTES = Duration.ofSeconds(30);
+
+    private final Configuracao configuracao;
+    private final Trafego trafego;
+    private final SplittableRandom random;
+    private final AtomicInteger emVoo = new AtomicInteger();
+
+    private TesteDeCarga(Configuracao configuracao, Trafego trafego) {
+
+        this.configuracao = configuracao;
+        this.trafego = trafego;
+        this.random = new SplittableRandom(configuracao.semente());
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        var configuracao = Configuracao.de(args);
+        var url = "jdbc:h2:mem:carga-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (var carga = contexto(url, WebApplicationType.NONE, Map.of())) {
+            popular(carga.getBean(JdbcTemplate.class), configuracao);
+            carga.getBean(AluguelLeituraReconstrucao.class).reconstruir();
+        }
+
+        try (var context = contexto(url, WebApplicationType.SERVLET, configuracao.propriedades());
+             var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(executor)
+                     .build()) {
+            var porta = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            var trafego = new Trafego(client, URI.create("http://localhost:" + porta), context.getBean(JdbcTemplate.class), configuracao);
+            var teste = new TesteDeCarga(configuracao, trafego);
+
+            System.out.printf("Aquecimento: %d req/s por %s%n", configuracao.taxa(), configuracao.aquecimento());
+            teste.executar(configuracao.aquecimento());
+            System.out.printf("Medição: %d req/s por %s, mix %s%n", configuracao.taxa(), configuracao.duracao(), configuracao.mix());
+            var medicoes = teste.executar(configuracao.duracao());
+            medicoes.relatar(System.out, configuracao.duracao(), configuracao.saida());
+        }
+    }
+
+    private Medicoes executar(Duration duracao) throws InterruptedException {
+
+        var medicoes = new Medicoes();
+        var intervalo = 1e9 / this.configuracao.taxa();
+        var quantidade = (long) (duracao.toNanos() / intervalo);
+        var inicio = System.nanoTime();
+        for (long i = 0; i < quantidade; i++) {
+            var previsto = inicio + (long) (i * intervalo);
+            esperarAte(previsto);
+            var operacao = this.trafego.sortear(this.random);
+            var envio = this.trafego.preparar(operacao, this.random);
+            if (envio == null) {
+                medicoes.semAlvo(operacao);
+                continue;
+            }
+            if (this.emVoo.get() >= this.configuracao.maximoEmVoo()) {
+                medicoes.descartada(operacao);
+                continue;
+            }
+            medicoes.atraso(System.nanoTime() - previsto);
+            this.emVoo.incrementAndGet();
+            this.trafego.enviar(envio).whenComplete((status, erro) -> {
+                var fim = System.nanoTime();
+                if (erro == null) {
+                    medicoes.registrar(operacao, previsto, fim, status);
+                } else {
+                    medicoes.falha(operacao, previsto, fim);
+                }
+                this.emVoo.decrementAndGet();
+            });
+        }
+
+        var prazo = System.nanoTime() + ESPERA_PENDENTES.toNanos();
+        while (this.emVoo.get() > 0 && System.nanoTime() < prazo) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return medicoes;
+    }
+
+    // a espera é por prazo absoluto: um atraso em uma requisição não empurra as seguintes
+    private static void esperarAte(long instante) {
+
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private static ConfigurableApplicationContext contexto(String url, WebApplicationType tipo, Map<String, String> propriedades) {
+
+        List<String> todas = new ArrayList<>(List.of(
+                "spring.datasource.url=" + url,
+                "server.port=0",
+                "logging.level.root=WARN"
+        ));
+        propriedades.forEach((chave, valor) -> todas.add(chave + "=" + valor));
+        return new SpringApplicationBuilder(LocatechApplication.class)
+                .web(tipo)
+                .logStartupInfo(false)
+                .properties(todas.toArray(String[]::new))
+                .run();
+    }
+
+    // mesmos dados dos benchmarks: cada veículo recebe alugueis consecutivos de 5 dias a partir de 2000, sem sobreposição
+    private static void popular(JdbcTemplate jdbcTemplate, Configuracao configuracao) {
+
+        jdbcTemplate.update("INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                "SELECT 'Marca ' || MOD(X, 20), 'Modelo ' || MOD(X, 100), 'CRG' || LPAD(CAST(X AS VARCHAR), 7, '0'), " +
+                "2000 + MOD(X, 25), 'cor ' || MOD(X, 8), 80 + MOD(X, 200) FROM SYSTEM_RANGE(1, ?)", configuracao.veiculos());
+        jdbcTemplate.update("INSERT INTO pessoas (nome, cpf, rg, telefone, email) " +
+                "SELECT 'Pessoa ' || X, LPAD(CAST(X AS VARCHAR), 11, '0'), LPAD(CAST(X AS VARCHAR), 9, '0'), " +
+                "'11999999999', 'pessoa' || X || '@email.com' FROM SYSTEM_RANGE(1, ?)", configuracao.pessoas());
+        var primeiroVeiculo = jdbcTemplate.queryForObject("SELECT MIN(id) FROM veiculos WHERE placa LIKE 'CRG%'", Long.class);
+        var primeiraPessoa = jdbcTemplate.queryForObject("SELECT MIN(id) FROM pessoas WHERE nome LIKE 'Pessoa %'", Long.class);
+        jdbcTemplate.update("INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) " +
+                        "SELECT ? + MOD(X - 1, ?), ? + MOD(X - 1, ?), " +
+                        "DATEADD(DAY, ((X - 1) / ?) * 5, DATE '2000-01-01'), DATEADD(DAY, ((X - 1) / ?) * 5 + 5, DATE '2000-01-01'), 500 " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                primeiraPessoa, configuracao.pessoas(), primeiroVeiculo, configuracao.veiculos(),
+                configuracao.veiculos(), configuracao.veiculos(), configuracao.alugueis());
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.fiap.locatech.locatech.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Monta as requisições de cada operação e acompanha os alugueis que podem ser alterados ou removidos.
+ * <p>
+ * Os alugueis da carga inicial e os criados pelo {@code POST} formam a fila de alvos do {@code PUT} e do
+ * {@code DELETE}. Um aluguel sai da fila enquanto a requisição está em voo, para que duas requisições não
+ * disputem o mesmo registro; o {@code PUT} devolve o aluguel ao final e o {@code DELETE} só devolve se
+ * a remoção falhar.
+ */
+final class Trafego {
+
+    private static final LocalDate INICIO_RESERVAS = LocalDate.of(2040, 1, 1);
+    private static final int DIAS_RESERVAVEIS = 3650;
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI base;
+    private final int tamanhoPagina;
+    private final List<Long> veiculos;
+    private final List<Long> pessoas;
+    private final int paginasVeiculos;
+    private final int paginasAlugueis;
+    private final Deque<Reserva> reservas = new ConcurrentLinkedDeque<>();
+    private final Operacao[] operacoes;
+    private final int[] pesosAcumulados;
+
+    Trafego(HttpClient client, URI base, JdbcTemplate jdbcTemplate, Configuracao configuracao) {
+
+        this.client = client;
+        this.base = base;
+        this.tamanhoPagina = configuracao.tamanhoPagina();
+        this.veiculos = jdbcTemplate.queryForList("SELECT id FROM veiculos ORDER BY id", Long.class);
+        this.pessoas = jdbcTemplate.queryForList("SELECT id FROM pessoas ORDER BY id", Long.class);
+        this.reservas.addAll(jdbcTemplate.query("SELECT id, pessoa_id, veiculo_id FROM alugueis ORDER BY id",
+                (rs, rowNum) -> new Reserva(rs.getLong(1), rs.getLong(2), rs.getLong(3))));
+        this.paginasVeiculos = paginas(this.veiculos.size(), this.tamanhoPagina);
+        this.paginasAlugueis = paginas(this.reservas.size(), this.tamanhoPagina);
+
+        var mix = configuracao.mix();
+        this.operacoes = mix.keySet().toArray(Operacao[]::new);
+        this.pesosAcumulados = new int[this.operacoes.length];
+        var acumulado = 0;
+        for (int i = 0; i < this.operacoes.length; i++) {
+            acumulado += mix.get(this.operacoes[i]);
+            this.pesosAcumulados[i] = acumulado;
+        }
+    }
+
+    Operacao sortear(SplittableRandom random) {
+
+        var sorteado = random.nextInt(this.pesosAcumulados[this.pesosAcumulados.length - 1]);
+        for (int i = 0; i < this.pesosAcumulados.length; i++) {
+            if (sorteado < this.pesosAcumulados[i]) {
+                return this.operacoes[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Monta a requisição da operação, ou devolve {@code null} quando não há aluguel para alterar ou remover.
+     */
+    Envio preparar(Operacao operacao, SplittableRandom random) {
+
+        return switch (operacao) {
+            case LISTAR_VEICULOS -> new Envio(operacao,
+                    this.get("/veiculos?page=" + (1 + random.nextInt(this.paginasVeiculos)) + "&size=" + this.tamanhoPagina), null);
+            case LISTAR_ALUGUEIS -> new Envio(operacao,
+                    this.get("/alugueis?page=" + (1 + random.nextInt(this.paginasAlugueis)) + "&size=" + this.tamanhoPagina), null);
+            case RESERVAR -> {
+                var reserva = new Reserva(null, this.sortear(this.pessoas, random), this.sortear(this.veiculos, random));
+                var periodo = periodo(random);
+                var corpo = String.format("{\"pessoaId\":%d,\"veiculoId\":%d,\"dataInicio\":\"%s\",\"dataFim\":\"%s\"}",
+                        reserva.pessoaId(), reserva.veiculoId(), periodo[0], periodo[1]);
+                yield new Envio(operacao, this.requisicao("/alugueis")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(), reserva);
+            }
+            case ALTERAR -> {
+                var reserva = this.reservas.pollFirst();
+                if (reserva == null) {
+                    yield null;
+                }
+                var periodo = periodo(random);
+                var corpo = String.format("{\"pessoaId\":%d,\"veiculoId\":%d,\"dataInicio\":\"%s\",\"dataFim\":\"%s\",\"valorTotal\":500}",
+                        reserva.pessoaId(), reserva.veiculoId(), periodo[0], periodo[1]);
+                yield new Envio(operacao, this.requisicao("/alugueis/" + reserva.id())
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(), reserva);
+            }
+            case REMOVER -> {
+                var reserva = this.reservas.pollLast();
+                if (reserva == null) {
+                    yield null;
+                }
+                yield new Envio(operacao, this.requisicao("/alugueis/" + reserva.id()).DELETE().build(), reserva);
+            }
+        };
+    }
+
+    /**
+     * Envia a requisição e completa com o status da resposta, depois de atualizar a fila de alugueis.
+     */
+    CompletableFuture<Integer> enviar(Envio envio) {
+
+        return this.client.sendAsync(envio.requisicao(), HttpResponse.BodyHandlers.discarding())
+                .handle((resposta, erro) -> {
+                    this.concluir(envio, resposta);
+                    if (erro != null) {
+                        throw erro instanceof RuntimeException causa ? causa : new IllegalStateException(erro);
+                    }
+                    return resposta.statusCode();
+                });
+    }
+
+    private void concluir(Envio envio, HttpResponse<Void> resposta) {
+
+        var status = resposta == null ? 0 : resposta.statusCode();
+        switch (envio.operacao()) {
+            case RESERVAR -> {
+                if (status == 201) {
+                    resposta.headers().firstValue("Location").ifPresent(local -> {
+                        var id = Long.parseLong(local.substring(local.lastIndexOf('/') + 1));
+                        this.reservas.addLast(new Reserva(id, envio.reserva().pessoaId(), envio.reserva().veiculoId()));
+                    });
+                }
+            }
+            case ALTERAR -> {
+                if (status != 404) {
+                    this.reservas.addLast(envio.reserva());
+                }
+            }
+            case REMOVER -> {
+                if (status != 200 && status != 404) {
+                    this.reservas.addLast(envio.reserva());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private HttpRequest get(String caminho) {
+        return this.requisicao(caminho).GET().build();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(this.base.resolve(caminho)).timeout(TEMPO_LIMITE);
+    }
+
+    private Long sortear(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    // períodos de 1 a 7 dias espalhados por dez anos depois da carga inicial; alguns colidem e voltam 409
+    private static LocalDate[] periodo(SplittableRandom random) {
+
+        var inicio = INICIO_RESERVAS.plusDays(random.nextInt(DIAS_RESERVAVEIS));
+        return new LocalDate[]{inicio, inicio.plusDays(1 + random.nextInt(7))};
+    }
+
+    private static int paginas(int registros, int tamanhoPagina) {
+        return Math.max(1, registros / tamanhoPagina);
+    }
+
+    record Envio(Operacao operacao, HttpRequest requisicao, Reserva reserva) {
+    }
+
+    record Reserva(Long id, Long pessoaId, Long veiculoId) {
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.fiap.locatech.locatech.inicializacao;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo até a primeira requisição atendida, do início do processo {@code java} até o primeiro
+ * {@code 200} de {@code GET /veiculos}, com o jar padrão e com o jar processado pelo Spring AOT e o
+ * arquivo CDS gerados no profile {@code inicializacao}.
+ * <p>
+ * Cada variante sobe {@code rodadas} processos novos, um por vez, e o relatório traz o mínimo, a mediana e
+ * o máximo. Argumentos no formato {@code chave=valor}: {@code jar}, {@code extraido}, {@code arquivo},
+ * {@code rodadas} e {@code springdoc}.
+ */
+public class TempoDeInicializacao {
+
+    private static final Duration TEMPO_MAXIMO = Duration.ofMinutes(2);
+    private static final Duration INTERVALO_TENTATIVAS = Duration.ofMillis(5);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> valores = new HashMap<>();
+        for (var arg : args) {
+            var separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento fora do formato chave=valor: " + arg);
+            }
+            valores.put(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+        var rodadas = Integer.parseInt(valores.getOrDefault("rodadas", "5"));
+        var springdoc = valores.getOrDefault("springdoc", "false");
+
+        var teste = new TempoDeInicializacao();
+        var padrao = teste.medir(rodadas, List.of("-jar", obrigatorio(valores, "jar")));
+        var otimizada = teste.medir(rodadas, List.of(
+                "-XX:SharedArchiveFile=" + obrigatorio(valores, "arquivo"),
+                "-Dspring.aot.enabled=true",
+                "-Dspringdoc.api-docs.enabled=" + springdoc,
+                "-Dspringdoc.swagger-ui.enabled=" + springdoc,
+                "-jar", obrigatorio(valores, "extraido")));
+
+        System.out.printf("%nTempo até a primeira requisição, %d rodadas%n", rodadas);
+        System.out.printf("%-22s %10s %10s %10s%n", "Variante", "min ms", "mediana ms", "max ms");
+        linha("jar padrão", padrao);
+        linha("AOT + CDS", otimizada);
+        System.out.printf("%nRedução da mediana: %.1f%%%n",
+                100.0 * (1 - (double) mediana(otimizada) / mediana(padrao)));
+    }
+
+    private List<Long> medir(int rodadas, List<String> opcoes) throws IOException, InterruptedException {
+
+        List<Long> tempos = new ArrayList<>(rodadas);
+        for (int i = 0; i < rodadas; i++) {
+            tempos.add(this.medirUma(opcoes));
+        }
+        tempos.sort(null);
+        return tempos;
+    }
+
+    private long medirUma(List<String> opcoes) throws IOException, InterruptedException {
+
+        var porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(this.java);
+        comando.addAll(opcoes);
+        comando.add("--server.port=" + porta);
+        comando.add("--logging.level.root=WARN");
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/veiculos?page=1&size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        var inicio = System.nanoTime();
+        var processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            var prazo = inicio + TEMPO_MAXIMO.toNanos();
+            while (System.nanoTime() < prazo) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou antes de atender a primeira requisição: " + comando);
+                }
+                try {
+                    var resposta = this.client.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                    if (resposta.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                    }
+                } catch (ConnectException e) {
+                    // ainda não está escutando na porta
+                }
+                Thread.sleep(INTERVALO_TENTATIVAS);
+            }
+            throw new IllegalStateException("A aplicação não atendeu em " + TEMPO_MAXIMO + ": " + comando);
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void linha(String variante, List<Long> tempos) {
+        System.out.printf("%-22s %10d %10d %10d%n", variante, tempos.getFirst(), mediana(tempos), tempos.getLast());
+    }
+
+    private static long mediana(List<Long> tempos) {
+        return tempos.get(tempos.size() / 2);
+    }
+
+    private static String obrigatorio(Map<String, String> valores, String chave) {
+
+        var valor = valores.get(chave);
+        if (valor == null) {
+            throw new IllegalArgumentException("Parâmetro obrigatório ausente: " + chave);
+        }
+        return valor;
+    }
+
+    private static int portaLivre() throws IOException {
+
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.services.AluguelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Criação de aluguel de ponta a ponta: busca do veículo, cálculo do valor, verificação de disponibilidade
+ * e gravação. Cada chamada usa um período novo, depois dos períodos da carga, para nunca conflitar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AluguelServiceBenchmark {
+
+    private static final LocalDate INICIO = LocalDate.of(2100, 1, 1);
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private AluguelService aluguelService;
+    private int veiculos;
+    private int pessoas;
+
+    @Setup(Level.Trial)
+    public void setup(LocatechState state) {
+
+        this.aluguelService = state.bean(AluguelService.class);
+        this.veiculos = state.veiculos;
+        this.pessoas = state.pessoas;
+    }
+
+    @Benchmark
+    public void saveAluguel() {
+
+        long n = this.sequencia.getAndIncrement();
+        var inicio = INICIO.plusDays((n / this.veiculos) * 3);
+        this.aluguelService.saveAluguel(new AluguelRequestDTO(
+                n % this.pessoas + 1,
+                n % this.veiculos + 1,
+                inicio,
+                inicio.plusDays(3)
+        ));
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import br.com.fiap.locatech.locatech.LocatechApplication;
+import br.com.fiap.locatech.locatech.services.AluguelLeituraReconstrucao;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aplicação completa sobre um H2 em memória populado com a quantidade de registros dos parâmetros.
+ * <p>
+ * O banco é migrado e populado por um primeiro contexto e só depois o contexto usado nos benchmarks é
+ * iniciado, para que os índices em memória sejam carregados já com os dados de carga.
+ */
+@State(Scope.Benchmark)
+public class LocatechState {
+
+    private static final int TAMANHO_BATCH = 1_000;
+    private static final LocalDate INICIO_CARGA = LocalDate.of(2000, 1, 1);
+
+    @Param({"1000"})
+    public int veiculos;
+
+    @Param({"1000"})
+    public int pessoas;
+
+    @Param({"10000", "200000"})
+    public int alugueis;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+
+        var url = "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (var carga = this.contexto(url, true)) {
+            this.popular(carga.getBean(JdbcTemplate.class));
+            // a carga entra direto nas tabelas, então o modelo de leitura dos alugueis é remontado no fim
+            carga.getBean(AluguelLeituraReconstrucao.class).reconstruir();
+        }
+        this.context = this.contexto(url, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        this.context.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return this.context.getBean(tipo);
+    }
+
+    /**
+     * Ponto de extensão para estados que precisam de outra configuração no contexto dos benchmarks.
+     */
+    protected void configurar(SpringApplicationBuilder builder) {
+    }
+
+    private ConfigurableApplicationContext contexto(String url, boolean carga) {
+
+        var builder = new SpringApplicationBuilder(LocatechApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "logging.level.root=WARN"
+                );
+        if (!carga) {
+            this.configurar(builder);
+        }
+        return builder.run();
+    }
+
+    private void popular(JdbcTemplate jdbcTemplate) {
+
+        this.inserir(jdbcTemplate, "INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) VALUES (?, ?, ?, ?, ?, ?)",
+                this.veiculos, i -> new Object[]{"Marca " + (i % 20), "Modelo " + (i % 100), String.format("BCH%07d", i),
+                        2000 + i % 25, "cor " + (i % 8), BigDecimal.valueOf(80 + i % 200)});
+        this.inserir(jdbcTemplate, "INSERT INTO pessoas (nome, cpf, rg, telefone, email) VALUES (?, ?, ?, ?, ?)",
+                this.pessoas, i -> new Object[]{"Pessoa " + i, String.format("%011d", i), String.format("%09d", i),
+                        "11999999999", "pessoa" + i + "@email.com"});
+        // cada veículo recebe alugueis consecutivos de 5 dias, sem sobreposição
+        this.inserir(jdbcTemplate, "INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) VALUES (?, ?, ?, ?, ?)",
+                this.alugueis, i -> {
+                    var inicio = INICIO_CARGA.plusDays((long) (i / this.veiculos) * 5);
+                    return new Object[]{(long) (i % this.pessoas) + 1, (long) (i % this.veiculos) + 1,
+                            Date.valueOf(inicio), Date.valueOf(inicio.plusDays(5)), BigDecimal.valueOf(500)};
+                });
+    }
+
+    private void inserir(JdbcTemplate jdbcTemplate, String sql, int quantidade, Linha linha) {
+
+        List<Object[]> batch = new ArrayList<>(TAMANHO_BATCH);
+        for (int i = 0; i < quantidade; i++) {
+            batch.add(linha.valores(i));
+            if (batch.size() == TAMANHO_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private interface Linha {
+        Object[] valores(int indice);
+    }
+}
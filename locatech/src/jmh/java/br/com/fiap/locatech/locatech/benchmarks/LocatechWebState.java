@@ -0,0 +1,34 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Aplicação web em uma porta aleatória, atendendo as requisições em threads de plataforma (pool do Tomcat)
+ * ou em threads virtuais.
+ */
+@State(Scope.Benchmark)
+public class LocatechWebState extends LocatechState {
+
+    @Param({"false", "true"})
+    public boolean threadsVirtuais;
+
+    @Override
+    protected void configurar(SpringApplicationBuilder builder) {
+
+        builder.web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + this.threadsVirtuais,
+                        // a comparação é da vazão bruta de cada modo, sem recusas do limite de concorrência
+                        "locatech.limite.enabled=false"
+                );
+    }
+
+    public int porta() {
+        return this.context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import br.com.fiap.locatech.locatech.repositories.PessoaRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepositoryImp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private AluguelRepository aluguelRepository;
+    private PessoaRepository pessoaRepository;
+    private VeiculoRepository veiculoRepository;
+    private VeiculoRepositoryImp veiculoRepositoryImp;
+    private int offsetProfundo;
+
+    @Setup(Level.Trial)
+    public void setup(LocatechState state) {
+
+        this.aluguelRepository = state.bean(AluguelRepository.class);
+        this.pessoaRepository = state.bean(PessoaRepository.class);
+        this.veiculoRepository = state.bean(VeiculoRepository.class);
+        this.veiculoRepositoryImp = state.bean(VeiculoRepositoryImp.class);
+        this.offsetProfundo = state.alugueis - TAMANHO_PAGINA;
+    }
+
+    @Benchmark
+    public List<Aluguel> aluguelFindAllRaso() {
+        return this.aluguelRepository.findAll(TAMANHO_PAGINA, 0);
+    }
+
+    @Benchmark
+    public List<Aluguel> aluguelFindAllProfundo() {
+        return this.aluguelRepository.findAll(TAMANHO_PAGINA, this.offsetProfundo);
+    }
+
+    @Benchmark
+    public List<Aluguel> aluguelFindAllAfterProfundo() {
+        return this.aluguelRepository.findAllAfter((long) this.offsetProfundo, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Optional<Aluguel> aluguelFindById(LocatechState state) {
+        return this.aluguelRepository.findById(idAleatorio(state.alugueis));
+    }
+
+    @Benchmark
+    public Optional<Pessoa> pessoaFindById(LocatechState state) {
+        return this.pessoaRepository.findById(idAleatorio(state.pessoas));
+    }
+
+    @Benchmark
+    public Optional<Veiculo> veiculoFindById(LocatechState state) {
+        return this.veiculoRepositoryImp.findById(idAleatorio(state.veiculos));
+    }
+
+    @Benchmark
+    public Optional<Veiculo> veiculoFindByIdComCache(LocatechState state) {
+        return this.veiculoRepository.findById(idAleatorio(state.veiculos));
+    }
+
+    private static long idAleatorio(int quantidade) {
+        return ThreadLocalRandom.current().nextLong(quantidade) + 1;
+    }
+}
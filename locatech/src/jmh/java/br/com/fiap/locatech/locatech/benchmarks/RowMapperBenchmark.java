@@ -0,0 +1,99 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.entities.AluguelRowMapper;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.entities.VeiculoRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SimplePropertyRowMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de mapeamento por linha: cada benchmark percorre as mesmas {@value #LINHAS} linhas, e os benchmarks
+ * {@code *SemMapeamento} só percorrem o result set. A diferença para eles é o custo do mapper gerado ou do
+ * {@link SimplePropertyRowMapper} (o que o {@code JdbcClient.query(Class)} usa).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+
+    private static final int LINHAS = 1_000;
+    private static final String SQL_ALUGUEIS =
+            "SELECT a.id, a.pessoa_id, a.veiculo_id, v.modelo AS veiculo_modelo, p.cpf AS pessoa_cpf, " +
+                    "p.nome AS pessoa_nome, a.data_inicio, a.data_fim, a.valor_total " +
+                    "FROM alugueis a " +
+                    "INNER JOIN pessoas p ON a.pessoa_id = p.id " +
+                    "INNER JOIN veiculos v ON a.veiculo_id = v.id " +
+                    "ORDER BY a.id LIMIT " + LINHAS;
+    private static final String SQL_VEICULOS =
+            "SELECT " + VeiculoRowMapper.COLUNAS + " FROM veiculos ORDER BY id LIMIT " + LINHAS;
+
+    private final RowMapper<Aluguel> aluguelReflexao = new SimplePropertyRowMapper<>(Aluguel.class);
+    private final RowMapper<Veiculo> veiculoReflexao = new SimplePropertyRowMapper<>(Veiculo.class);
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup(LocatechState state) {
+        this.jdbcTemplate = state.bean(JdbcTemplate.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void aluguelSemMapeamento(Blackhole blackhole) {
+        this.jdbcTemplate.query(SQL_ALUGUEIS, (RowCallbackHandler) rs -> blackhole.consume(rs.getRow()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void aluguelGerado(Blackhole blackhole) {
+        this.mapear(SQL_ALUGUEIS, AluguelRowMapper.INSTANCE, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void aluguelReflexao(Blackhole blackhole) {
+        this.mapear(SQL_ALUGUEIS, this.aluguelReflexao, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void veiculoSemMapeamento(Blackhole blackhole) {
+        this.jdbcTemplate.query(SQL_VEICULOS, (RowCallbackHandler) rs -> blackhole.consume(rs.getRow()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void veiculoGerado(Blackhole blackhole) {
+        this.mapear(SQL_VEICULOS, VeiculoRowMapper.INSTANCE, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void veiculoReflexao(Blackhole blackhole) {
+        this.mapear(SQL_VEICULOS, this.veiculoReflexao, blackhole);
+    }
+
+    private <T> void mapear(String sql, RowMapper<T> rowMapper, Blackhole blackhole) {
+        this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> blackhole.consume(rowMapper.mapRow(rs, rs.getRow())));
+    }
+}
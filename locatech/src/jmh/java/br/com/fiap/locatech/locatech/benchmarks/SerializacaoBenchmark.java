@@ -0,0 +1,51 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de páginas de {@code List<Aluguel>} com o mesmo {@link ObjectMapper} usado pelos controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private List<Aluguel> pagina;
+
+    @Setup(Level.Trial)
+    public void setup(LocatechState state) {
+
+        this.objectMapper = state.bean(ObjectMapper.class);
+        this.pagina = state.bean(AluguelRepository.class).findAll(this.tamanhoPagina, 0);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.pagina);
+    }
+}
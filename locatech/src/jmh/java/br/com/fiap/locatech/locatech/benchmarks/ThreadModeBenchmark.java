@@ -0,0 +1,58 @@
+package br.com.fiap.locatech.locatech.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara threads de plataforma e threads virtuais com mais clientes simultâneos do que o pool padrão do
+ * Tomcat (200 threads). O modo {@code Throughput} mostra a vazão e o {@code SampleTime} traz o p99 no resultado.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    @Param({"/alugueis?page=1&size=20", "/veiculos/1"})
+    public String endpoint;
+
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup(LocatechWebState state) {
+
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.request = HttpRequest.newBuilder(URI.create("http://localhost:" + state.porta() + this.endpoint))
+                .GET()
+                .build();
+    }
+
+    @Benchmark
+    public int requisicao() throws IOException, InterruptedException {
+        return this.client.send(this.request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
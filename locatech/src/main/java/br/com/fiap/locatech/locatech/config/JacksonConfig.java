@@ -0,0 +1,17 @@
+package br.com.fiap.locatech.locatech.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // sem ?fields= o filtro "campos" das entidades serializa tudo, inclusive nas exportações
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer camposFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.locatech.locatech.config;
+
+/**
+ * Limite de concorrência no estilo do TCP Vegas, ajustado pela latência das requisições.
+ * <p>
+ * A menor latência observada serve de referência sem carga. Para cada amostra, a fila estimada é
+ * {@code limite * (1 - rttSemCarga / rtt)}: com pouca fila o limite cresce, com muita fila ou com
+ * requisições descartadas ele diminui. Os passos são proporcionais a {@code log10(limite)}. De tempos em
+ * tempos a referência é trocada pela amostra atual, para acompanhar uma latência de base que mudou.
+ */
+public class LimiteAdaptativo {
+
+    private static final int AMOSTRAS_POR_SONDAGEM = 30;
+
+    private final int minimo;
+    private final int maximo;
+    private volatile int limite;
+    private long rttSemCarga;
+    private int amostras;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo) {
+
+        this.minimo = Math.max(minimo, 1);
+        this.maximo = Math.max(maximo, this.minimo);
+        this.limite = Math.min(Math.max(inicial, this.minimo), this.maximo);
+    }
+
+    public int limite() {
+        return this.limite;
+    }
+
+    /**
+     * @param rttNanos   duração da requisição
+     * @param emVoo      requisições em andamento quando esta foi admitida, incluindo ela
+     * @param descartada se a requisição terminou em sobrecarga ({@code 503})
+     */
+    public synchronized void registrar(long rttNanos, int emVoo, boolean descartada) {
+
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (++this.amostras >= AMOSTRAS_POR_SONDAGEM * this.limite) {
+            this.amostras = 0;
+            this.rttSemCarga = rttNanos;
+            return;
+        }
+        if (this.rttSemCarga == 0 || rttNanos < this.rttSemCarga) {
+            this.rttSemCarga = rttNanos;
+            return;
+        }
+
+        double atual = this.limite;
+        double passo = Math.max(1, Math.log10(atual));
+        double novo;
+        if (descartada) {
+            novo = atual - passo;
+        } else if (emVoo * 2 < atual) {
+            // longe do limite, a amostra não diz nada sobre ele
+            return;
+        } else {
+            var fila = Math.ceil(atual * (1 - (double) this.rttSemCarga / rttNanos));
+            if (fila <= passo) {
+                novo = atual + 6 * passo;
+            } else if (fila < 3 * passo) {
+                novo = atual + passo;
+            } else if (fila > 6 * passo) {
+                novo = atual - passo;
+            } else {
+                return;
+            }
+        }
+        this.limite = (int) Math.min(Math.max(novo, this.minimo), this.maximo);
+    }
+}
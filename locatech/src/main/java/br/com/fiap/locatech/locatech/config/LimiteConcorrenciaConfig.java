@@ -0,0 +1,28 @@
+package br.com.fiap.locatech.locatech.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(value = "locatech.limite.enabled", havingValue = "true", matchIfMissing = true)
+public class LimiteConcorrenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<LimiteConcorrenciaFilter> limiteConcorrenciaFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${locatech.limite.inicial:20}") int inicial,
+            @Value("${locatech.limite.minimo:4}") int minimo,
+            @Value("${locatech.limite.maximo:200}") int maximo
+    ) {
+        var limite = new LimiteAdaptativo(inicial, minimo, maximo);
+        var registro = new FilterRegistrationBean<>(new LimiteConcorrenciaFilter(limite, objectMapper, meterRegistry));
+        registro.addUrlPatterns("/alugueis/*", "/veiculos/*", "/pessoas/*");
+        return registro;
+    }
+}
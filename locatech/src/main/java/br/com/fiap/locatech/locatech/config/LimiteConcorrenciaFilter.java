@@ -0,0 +1,133 @@
+package br.com.fiap.locatech.locatech.config;
+
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita as requisições simultâneas dos controllers ao {@link LimiteAdaptativo} e recusa o excedente na hora,
+ * com {@code 503} e {@code Retry-After}, em vez de deixá-lo esperando na fila do servidor.
+ * <p>
+ * Cada prioridade só é admitida até uma fração do limite: leituras param de entrar primeiro, depois as demais
+ * escritas, e a criação de alugueis usa o limite inteiro. As exportações ficam de fora, porque rodam de forma
+ * assíncrona e a duração da chamada não representa a da resposta.
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    enum Prioridade {
+
+        RESERVA(1.0),
+        ESCRITA(0.9),
+        LEITURA(0.7);
+
+        private final double fracao;
+
+        Prioridade(double fracao) {
+            this.fracao = fracao;
+        }
+    }
+
+    private final LimiteAdaptativo limite;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final Map<Prioridade, Counter> recusadas = new EnumMap<>(Prioridade.class);
+
+    public LimiteConcorrenciaFilter(LimiteAdaptativo limite, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+
+        this.limite = limite;
+        this.objectMapper = objectMapper;
+        Gauge.builder("locatech.limite.concorrencia", limite, LimiteAdaptativo::limite)
+                .description("Limite atual de requisições simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("locatech.limite.em-voo", this.emVoo, AtomicInteger::get)
+                .description("Requisições em andamento dentro do limite")
+                .register(meterRegistry);
+        for (var prioridade : Prioridade.values()) {
+            this.recusadas.put(prioridade, Counter.builder("locatech.limite.recusadas")
+                    .description("Requisições recusadas pelo limite de concorrência")
+                    .tag("prioridade", prioridade.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var prioridade = prioridade(request);
+        var emVooNaEntrada = this.adquirir(prioridade);
+        if (emVooNaEntrada == 0) {
+            this.recusadas.get(prioridade).increment();
+            this.recusar(response);
+            return;
+        }
+        var inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            this.emVoo.decrementAndGet();
+            this.limite.registrar(System.nanoTime() - inicio, emVooNaEntrada,
+                    response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    // retorna as requisições em andamento com esta, ou 0 quando a prioridade já atingiu a sua parte do limite
+    private int adquirir(Prioridade prioridade) {
+
+        var capacidade = Math.max(1, (int) (this.limite.limite() * prioridade.fracao));
+        while (true) {
+            var atual = this.emVoo.get();
+            if (atual >= capacidade) {
+                return 0;
+            }
+            if (this.emVoo.compareAndSet(atual, atual + 1)) {
+                return atual + 1;
+            }
+        }
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+
+        var status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(),
+                new ResourceNotFoundDTO("Serviço sobrecarregado, tente novamente", status.value()));
+    }
+
+    static Prioridade prioridade(HttpServletRequest request) {
+
+        var metodo = request.getMethod();
+        var caminho = request.getRequestURI();
+        if ("POST".equals(metodo) && caminho.equals(request.getContextPath() + "/alugueis")) {
+            return Prioridade.RESERVA;
+        }
+        // cotação é um POST que só lê
+        if ("GET".equals(metodo) || "HEAD".equals(metodo) || caminho.endsWith("/alugueis/cotacoes")) {
+            return Prioridade.LEITURA;
+        }
+        return Prioridade.ESCRITA;
+    }
+}
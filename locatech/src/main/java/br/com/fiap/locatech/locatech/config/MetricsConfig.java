@@ -0,0 +1,16 @@
+package br.com.fiap.locatech.locatech.config;
+
+import br.com.fiap.locatech.locatech.repositories.CachingVeiculoRepository;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder veiculosCacheMetrics(CachingVeiculoRepository cachingVeiculoRepository) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, cachingVeiculoRepository.getCache(), "veiculos");
+    }
+}
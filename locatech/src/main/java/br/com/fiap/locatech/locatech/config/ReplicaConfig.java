@@ -0,0 +1,68 @@
+package br.com.fiap.locatech.locatech.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primário em {@code spring.datasource.*} e réplica de leitura em {@code locatech.replica.*}. Os dois pools não
+ * são candidatos padrão a injeção: o resto da aplicação (JdbcClient, Flyway, transações) recebe o
+ * {@link RoteamentoDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "locatech.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource replicaDataSource(
+            @Value("${locatech.replica.url}") String url,
+            @Value("${locatech.replica.username:${spring.datasource.username}}") String username,
+            @Value("${locatech.replica.password:${spring.datasource.password}}") String password
+    ) {
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public RoteamentoDataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica
+    ) {
+        return new RoteamentoDataSource(primario, replica);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RoteamentoFilter> roteamentoFilter(
+            @Value("${locatech.replica.aderencia:5s}") Duration aderencia
+    ) {
+        var registro = new FilterRegistrationBean<>(new RoteamentoFilter(aderencia));
+        registro.addUrlPatterns("/alugueis/*", "/veiculos/*", "/pessoas/*");
+        return registro;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.fiap.locatech.locatech.config;
+
+import br.com.fiap.locatech.locatech.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead em volta dos {@code *RepositoryImp}: no máximo {@code locatech.bulkhead.permissoes} chamadas ao
+ * banco ao mesmo tempo, com fila justa (FIFO) para as demais. Com threads virtuais o número de requisições
+ * simultâneas deixa de ser limitado pelo pool do Tomcat, e sem o bulkhead todas disputariam o pool de conexões.
+ * <p>
+ * Chamadas feitas dentro de uma transação já ativa não pedem permissão: a conexão já está presa à thread,
+ * e esperar por uma permissão segurando uma conexão poderia travar o pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(value = "locatech.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryBulkheadAspect {
+
+    private final Semaphore permissoes;
+    private final Duration esperaMaxima;
+    private final Timer espera;
+
+    public RepositoryBulkheadAspect(
+            MeterRegistry meterRegistry,
+            @Value("${locatech.bulkhead.permissoes:10}") int permissoes,
+            @Value("${locatech.bulkhead.espera-maxima:5s}") Duration esperaMaxima
+    ) {
+        this.permissoes = new Semaphore(permissoes, true);
+        this.esperaMaxima = esperaMaxima;
+        this.espera = Timer.builder("locatech.bulkhead.espera")
+                .description("Tempo de espera por uma permissão do bulkhead do banco")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("locatech.bulkhead.disponiveis", this.permissoes, Semaphore::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("locatech.bulkhead.fila", this.permissoes, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * br.com.fiap.locatech.locatech.repositories.*RepositoryImp.*(..))")
+    public Object limitar(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        long inicio = System.nanoTime();
+        boolean adquirida = this.permissoes.tryAcquire(this.esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        this.espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (!adquirida) {
+            throw new ServiceUnavailableException("Banco de dados sobrecarregado, tente novamente");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            this.permissoes.release();
+        }
+    }
+}
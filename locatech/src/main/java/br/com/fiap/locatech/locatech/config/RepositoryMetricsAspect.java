@@ -0,0 +1,56 @@
+package br.com.fiap.locatech.locatech.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede cada método dos {@code *RepositoryImp} com um timer {@code locatech.repository}, marcado com a
+ * entidade e a operação, para separar o tempo gasto no banco do tempo total da requisição
+ * ({@code http.server.requests}).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * br.com.fiap.locatech.locatech.repositories.*RepositoryImp.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        var signature = joinPoint.getSignature();
+        var timer = this.timers.computeIfAbsent(
+                signature.getDeclaringTypeName() + "#" + signature.getName(),
+                chave -> Timer.builder("locatech.repository")
+                        .description("Latência das operações dos repositórios")
+                        .tag("entidade", entidade(signature.getDeclaringType().getSimpleName()))
+                        .tag("operacao", signature.getName())
+                        .publishPercentileHistogram()
+                        .register(this.meterRegistry));
+
+        var amostra = Timer.start(this.meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            amostra.stop(timer);
+        }
+    }
+
+    private static String entidade(String classe) {
+        return classe.replace("RepositoryImp", "").toLowerCase();
+    }
+}
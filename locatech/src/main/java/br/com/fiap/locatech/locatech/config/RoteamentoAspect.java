@@ -0,0 +1,30 @@
+package br.com.fiap.locatech.locatech.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marca as leituras dos {@code *RepositoryImp} que podem ser atendidas pela réplica; a decisão final fica com
+ * o {@link RoteamentoDataSource}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(value = "locatech.replica.enabled", havingValue = "true")
+public class RoteamentoAspect {
+
+    @Around("execution(public * br.com.fiap.locatech.locatech.repositories.*RepositoryImp.findById(..)) || " +
+            "execution(public * br.com.fiap.locatech.locatech.repositories.*RepositoryImp.findAll(..)) || " +
+            "execution(public * br.com.fiap.locatech.locatech.repositories.*RepositoryImp.findAllAfter(..))")
+    public Object naReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        var anterior = RoteamentoDataSource.marcarLeitura();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RoteamentoDataSource.restaurarLeitura(anterior);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.fiap.locatech.locatech.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Escolhe, a cada conexão pedida, entre o banco primário e a réplica de leitura.
+ * <p>
+ * Só vão para a réplica as leituras marcadas pelo {@link RoteamentoAspect} ({@code findById}, {@code findAll}
+ * e {@code findAllAfter}) feitas durante uma requisição aberta pelo {@link RoteamentoFilter}. Todo o resto usa
+ * o primário: escritas, leituras dentro de uma transação, requisições aderentes ao primário logo depois de uma
+ * escrita do mesmo cliente e o trabalho fora das requisições (carga dos índices na inicialização, reconstrução
+ * dos relatórios, group commit), que precisa enxergar o estado mais recente.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    // null fora de uma requisição; true quando a requisição precisa ler as próprias escritas
+    private static final ThreadLocal<Boolean> ADERENTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> LEITURA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+
+        this.setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        this.setDefaultTargetDataSource(primario);
+        this.setLenientFallback(false);
+    }
+
+    /**
+     * Executa a leitura no primário mesmo dentro de uma requisição roteável, para quem guarda o resultado
+     * (um cache não pode ser repopulado com uma versão atrasada da réplica).
+     */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+
+        var anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            restaurar(PRIMARIO, anterior);
+        }
+    }
+
+    static void iniciarRequisicao(boolean aderente) {
+        ADERENTE.set(aderente);
+    }
+
+    static void encerrarRequisicao() {
+
+        ADERENTE.remove();
+        LEITURA.remove();
+        PRIMARIO.remove();
+    }
+
+    static Boolean marcarLeitura() {
+
+        var anterior = LEITURA.get();
+        LEITURA.set(Boolean.TRUE);
+        return anterior;
+    }
+
+    static void restaurarLeitura(Boolean anterior) {
+        restaurar(LEITURA, anterior);
+    }
+
+    static Destino destino() {
+
+        var aderente = ADERENTE.get();
+        if (aderente == null || aderente
+                || !Boolean.TRUE.equals(LEITURA.get())
+                || Boolean.TRUE.equals(PRIMARIO.get())
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIO;
+        }
+        return Destino.REPLICA;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return destino();
+    }
+
+    private static void restaurar(ThreadLocal<Boolean> valor, Boolean anterior) {
+
+        if (anterior == null) {
+            valor.remove();
+        } else {
+            valor.set(anterior);
+        }
+    }
+}
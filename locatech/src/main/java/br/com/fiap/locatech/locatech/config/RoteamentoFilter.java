@@ -0,0 +1,82 @@
+package br.com.fiap.locatech.locatech.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Abre o escopo de roteamento de cada requisição e garante que um cliente leia as próprias escritas.
+ * <p>
+ * Uma requisição de escrita usa só o primário e devolve o cookie {@value #COOKIE}, válido pela janela de
+ * aderência; enquanto ele valer, as leituras do mesmo cliente também ficam no primário, mesmo que a réplica
+ * ainda não tenha recebido a alteração. O cookie é enviado antes de a requisição rodar, porque a resposta pode
+ * ser confirmada antes do fim da escrita (group commit, exportações). As cotações são {@code POST} mas não
+ * gravam nada, então não contam como escrita.
+ */
+public class RoteamentoFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "locatech-primario";
+
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration aderencia;
+
+    public RoteamentoFilter(Duration aderencia) {
+        this.aderencia = aderencia;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var escrita = escrita(request);
+        if (escrita) {
+            var cookie = ResponseCookie.from(COOKIE, String.valueOf(System.currentTimeMillis() + this.aderencia.toMillis()))
+                    .maxAge(this.aderencia)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+
+        RoteamentoDataSource.iniciarRequisicao(escrita || aderente(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteamentoDataSource.encerrarRequisicao();
+        }
+    }
+
+    private static boolean escrita(HttpServletRequest request) {
+        return !METODOS_LEITURA.contains(request.getMethod()) && !request.getRequestURI().endsWith("/cotacoes");
+    }
+
+    // o valor é o instante em que a aderência termina; o Max-Age sozinho depende do relógio do cliente
+    private static boolean aderente(HttpServletRequest request) {
+
+        var cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
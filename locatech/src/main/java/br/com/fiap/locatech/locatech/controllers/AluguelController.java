@@ -0,0 +1,361 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.dtos.CotacaoDTO;
+import br.com.fiap.locatech.locatech.dtos.CotacaoRequestDTO;
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.services.AluguelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/alugueis")
+@Tag(name = "Alugel", description = "Controller para CRUD de alugueis")
+public class AluguelController {
+
+    private static final List<ExportWriter.Coluna<Aluguel>> COLUNAS_EXPORTACAO = List.of(
+            new ExportWriter.Coluna<>("id", Aluguel::getId),
+            new ExportWriter.Coluna<>("pessoaId", Aluguel::getPessoaId),
+            new ExportWriter.Coluna<>("veiculoId", Aluguel::getVeiculoId),
+            new ExportWriter.Coluna<>("pessoaNome", Aluguel::getPessoaNome),
+            new ExportWriter.Coluna<>("pessoaCpf", Aluguel::getPessoaCpf),
+            new ExportWriter.Coluna<>("veiculoModelo", Aluguel::getVeiculoModelo),
+            new ExportWriter.Coluna<>("dataInicio", Aluguel::getDataInicio),
+            new ExportWriter.Coluna<>("dataFim", Aluguel::getDataFim),
+            new ExportWriter.Coluna<>("valorTotal", Aluguel::getValorTotal)
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(AluguelController.class);
+    private final AluguelService aluguelService;
+    private final NdjsonReader ndjsonReader;
+    private final ObjectMapper objectMapper;
+
+    public AluguelController(AluguelService aluguelService, NdjsonReader ndjsonReader, ObjectMapper objectMapper) {
+        this.aluguelService = aluguelService;
+        this.ndjsonReader = ndjsonReader;
+        this.objectMapper = objectMapper;
+    }
+
+    // http://localhost:8080/alugueis?page=1&size=10&incluirArquivados=false
+
+    @Operation(
+            description = "Busca todos os alugueis paginados. Com incluirArquivados=true, inclui também os alugueis " +
+                    "arquivados, em ordem de id",
+            summary = "Busca de alugueis",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Aluguel.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping
+    public ResponseEntity<List<Aluguel>> findAllAlugueis(
+            @RequestParam("page") int page,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            @RequestParam(value = "incluirArquivados", defaultValue = "false") boolean incluirArquivados
+    )
+    {
+        logger.info("/alugueis");
+        var alugueis = this.aluguelService.findAllAlugueis(page, size, fields, incluirArquivados);
+        return ResponseEntity.ok().eTag(Etags.lista(alugueis, Aluguel::getId, Etags::de)).body(alugueis);
+    }
+
+    // http://localhost:8080/alugueis?after=&size=10&incluirArquivados=false
+
+    @Operation(
+            description = "Busca todos os alugueis paginados por cursor, a partir do cursor retornado na página anterior. " +
+                    "Com incluirArquivados=true, inclui também os alugueis arquivados",
+            summary = "Busca de alugueis por cursor",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = CursorPageDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<Aluguel>> findAlugueisAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields,
+            @RequestParam(value = "incluirArquivados", defaultValue = "false") boolean incluirArquivados
+    )
+    {
+        logger.info("/alugueis?after=" + after);
+        var alugueis = this.aluguelService.findAlugueisAfter(after, size, fields, incluirArquivados);
+        return ResponseEntity.ok().eTag(Etags.pagina(alugueis, Aluguel::getId, Etags::de)).body(alugueis);
+    }
+
+    // http://localhost:8080/alugueis/export?formato=csv
+
+    @Operation(
+            description = "Exporta todos os alugueis em NDJSON ou CSV, escrevendo os registros na resposta " +
+                    "à medida que são lidos do banco",
+            summary = "Exportação de alugueis",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAlugueis(
+            @RequestParam(value = "formato", defaultValue = "ndjson") String formato
+    )
+    {
+        logger.info("/alugueis/export");
+        var formatoExportacao = FormatoExportacao.of(formato);
+        StreamingResponseBody corpo = out -> {
+            var writer = new ExportWriter<>(formatoExportacao, out, this.objectMapper, COLUNAS_EXPORTACAO);
+            this.aluguelService.exportarAlugueis(writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=alugueis." + formatoExportacao.getExtensao())
+                .body(corpo);
+    }
+
+    // http://localhost:8080/alugueis/1
+
+    @Operation(
+            description = "Busca um aluguel baseado no id especificado",
+            summary = "Busca de um aluguel específico",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Aluguel.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<Optional<Aluguel>> findAluguelById(
+            @PathVariable Long id,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/alugueis/" + id);
+        var aluguel = this.aluguelService.findById(id, fields);
+        return ResponseEntity.ok().eTag(Etags.de(aluguel.get())).body(aluguel);
+    }
+
+    // POST -> http://localhost:8080/alugueis
+
+    @Operation(
+            description = "Salva um aluguel com base nos dados do corpo da requisição",
+            summary = "Salva um aluguel",
+            responses = {
+                    @ApiResponse(description = "Created", responseCode = "201")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<Void> saveAluguel(
+            @Valid @RequestBody AluguelRequestDTO aluguel
+    )
+    {
+        logger.info("POST -> /alugueis");
+        var aluguelSalvo = this.aluguelService.saveAluguel(aluguel);
+        return ResponseEntity.created(URI.create("/alugueis/" + aluguelSalvo.getId())).build();
+    }
+
+    // POST -> http://localhost:8080/alugueis/cotacoes
+
+    @Operation(
+            description = "Calcula o valor de vários veículos e períodos sem gravar alugueis. Os veículos são " +
+                    "buscados de uma vez e cada item informa se o veículo está livre no período",
+            summary = "Cota alugueis",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = CotacaoDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PostMapping("/cotacoes")
+    public ResponseEntity<List<CotacaoDTO>> cotarAlugueis(
+            @RequestBody List<CotacaoRequestDTO> cotacoes
+    )
+    {
+        logger.info("POST -> /alugueis/cotacoes");
+        var resultado = this.aluguelService.cotarAlugueis(cotacoes);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // POST -> http://localhost:8080/alugueis/lote
+
+    @Operation(
+            description = "Salva vários alugueis de uma vez, a partir de um array JSON ou de NDJSON (um item por linha). " +
+                    "Cada item é validado individualmente e as falhas são reportadas por posição",
+            summary = "Salva alugueis em lote",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = LoteResultadoDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> saveAlugueis(
+            @RequestBody List<AluguelRequestDTO> alugueis
+    )
+    {
+        logger.info("POST -> /alugueis/lote");
+        var resultado = this.aluguelService.saveAlugueis(alugueis.iterator());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> saveAlugueisNdjson(
+            InputStream corpo
+    )
+    {
+        logger.info("POST -> /alugueis/lote (ndjson)");
+        var resultado = this.aluguelService.saveAlugueis(this.ndjsonReader.ler(corpo, AluguelRequestDTO.class));
+        return ResponseEntity.ok(resultado);
+    }
+
+    // PUT -> http://localhost:8080/alugueis/1
+
+    @Operation(
+            description = "Atualiza um aluguel baseado no id especificado e com as informações do corpo da requisição",
+            summary = "Atualiza um aluguel específico",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateAluguel(
+            @PathVariable Long id,
+            @RequestBody Aluguel aluguel,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("PUT -> /alugueis/" + id);
+        this.aluguelService.updateAluguel(aluguel, id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().build();
+    }
+
+    // DELETE -> http://localhost:8080/alugueis/1
+
+    @Operation(
+            description = "Deleta um aluguel baseado no id especificado",
+            summary = "Deleta um aluguel específico",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAluguel(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("DELETE -> /alugueis/" + id);
+        this.aluguelService.deleteAluguel(id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * ETags fortes calculados a partir da versão das linhas, sem serializar o corpo.
+ * <p>
+ * Com o ETag na {@code ResponseEntity}, o Spring responde {@code 304} a um {@code If-None-Match} igual sem
+ * escrever o corpo. O ETag de um registro é a sua versão; o de um aluguel inclui também o modelo do veículo
+ * e o nome e o CPF da pessoa, que vêm das outras tabelas. O ETag de uma lista é um resumo dos ids e ETags
+ * dos registros, na ordem em que aparecem.
+ */
+final class Etags {
+
+    private Etags() {
+    }
+
+    static String de(Veiculo veiculo) {
+        return String.valueOf(veiculo.getVersao());
+    }
+
+    static String de(Pessoa pessoa) {
+        return String.valueOf(pessoa.getVersao());
+    }
+
+    static String de(Aluguel aluguel) {
+
+        var relacionados = Objects.hash(aluguel.getVeiculoModelo(), aluguel.getPessoaCpf(), aluguel.getPessoaNome());
+        return aluguel.getVersao() + "-" + Integer.toHexString(relacionados);
+    }
+
+    static <T> String lista(List<T> registros, Function<T, Long> id, Function<T, String> etag) {
+        return resumo(registros, id, etag, null);
+    }
+
+    static <T> String pagina(CursorPageDTO<T> pagina, Function<T, Long> id, Function<T, String> etag) {
+        return resumo(pagina.content(), id, etag, pagina.nextCursor());
+    }
+
+    /**
+     * Versão esperada pelo {@code If-Match}, ou nulo quando o cabeçalho não veio ou é {@code *}.
+     */
+    static Long versao(String ifMatch) {
+
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var etag = ifMatch.trim();
+        if (etag.contains(",")) {
+            throw new BadRequestException("Informe um único ETag no If-Match");
+        }
+        // If-Match usa comparação forte: um ETag fraco ou que não foi gerado aqui nunca confere
+        if (etag.startsWith("W/") || etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new PreconditionFailedException("O registro foi alterado ou o ETag é inválido");
+        }
+        var valor = etag.substring(1, etag.length() - 1);
+        var separador = valor.indexOf('-');
+        try {
+            return Long.parseLong(separador < 0 ? valor : valor.substring(0, separador));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("O registro foi alterado ou o ETag é inválido");
+        }
+    }
+
+    private static <T> String resumo(List<T> registros, Function<T, Long> id, Function<T, String> etag, String cursor) {
+
+        var digest = sha256();
+        for (var registro : registros) {
+            digest.update((id.apply(registro) + ":" + etag.apply(registro) + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        if (cursor != null) {
+            digest.update(cursor.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()).substring(0, 22);
+    }
+
+    private static MessageDigest sha256() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
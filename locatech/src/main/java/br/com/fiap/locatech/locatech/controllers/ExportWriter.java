@@ -0,0 +1,90 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Escreve os registros na resposta à medida que são lidos do banco, sem acumulá-los em memória.
+ */
+public class ExportWriter<T> implements Consumer<T> {
+
+    private final Writer writer;
+    private final SequenceWriter ndjson;
+    private final List<Coluna<T>> colunas;
+    private long registros;
+
+    public ExportWriter(FormatoExportacao formato, OutputStream out, ObjectMapper objectMapper, List<Coluna<T>> colunas) {
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.colunas = colunas;
+        try {
+            if (formato == FormatoExportacao.NDJSON) {
+                this.ndjson = objectMapper.writer().withRootValueSeparator("\n").writeValues(this.writer);
+            } else {
+                this.ndjson = null;
+                this.writer.write(colunas.stream().map(Coluna::nome).collect(Collectors.joining(",")));
+                this.writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(T registro) {
+
+        this.registros++;
+        try {
+            if (this.ndjson != null) {
+                this.ndjson.write(registro);
+                return;
+            }
+            for (int i = 0; i < this.colunas.size(); i++) {
+                if (i > 0) {
+                    this.writer.write(',');
+                }
+                this.writer.write(csv(this.colunas.get(i).valor().apply(registro)));
+            }
+            this.writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+
+        if (this.ndjson != null) {
+            this.ndjson.flush();
+            if (this.registros > 0) {
+                this.writer.write('\n');
+            }
+        }
+        this.writer.flush();
+    }
+
+    private static String csv(Object valor) {
+
+        if (valor == null) {
+            return "";
+        }
+        var texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+
+    public record Coluna<T>(String nome, Function<T, Object> valor) {}
+}
@@ -0,0 +1,36 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum FormatoExportacao {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoExportacao(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao of(String formato) {
+
+        for (var valor : values()) {
+            if (valor.name().equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new BadRequestException("Formato de exportação inválido: " + formato);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê corpos {@code application/x-ndjson}: um documento JSON por linha.
+ */
+@Component
+public class NdjsonReader {
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê o corpo uma linha por vez, sem carregá-lo inteiro. Uma linha que não é um documento válido faz o
+     * {@code next} lançar {@link BadRequestException} só para aquela posição, e a leitura segue na linha
+     * seguinte. Linhas em branco são ignoradas.
+     */
+    public <T> Iterator<T> ler(InputStream corpo, Class<T> tipo) {
+
+        var leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        var objectReader = this.objectMapper.readerFor(tipo);
+        return new Iterator<>() {
+
+            private String proxima;
+            private int linha;
+
+            @Override
+            public boolean hasNext() {
+
+                while (this.proxima == null) {
+                    String lida;
+                    try {
+                        lida = leitor.readLine();
+                    } catch (IOException e) {
+                        throw new BadRequestException("Erro ao ler o corpo NDJSON: " + e.getMessage());
+                    }
+                    if (lida == null) {
+                        return false;
+                    }
+                    this.linha++;
+                    if (!lida.isBlank()) {
+                        this.proxima = lida;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                var documento = this.proxima;
+                this.proxima = null;
+                try {
+                    return objectReader.readValue(documento);
+                } catch (JsonProcessingException e) {
+                    throw new BadRequestException("Linha " + this.linha + ": JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+}
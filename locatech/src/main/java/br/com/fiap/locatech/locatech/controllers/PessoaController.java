@@ -0,0 +1,351 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.services.PessoaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/pessoas")
+@Tag(name = "Pessoa", description = "Controller para CRUD de pessoas")
+public class PessoaController {
+
+    private static final List<ExportWriter.Coluna<Pessoa>> COLUNAS_EXPORTACAO = List.of(
+            new ExportWriter.Coluna<>("id", Pessoa::getId),
+            new ExportWriter.Coluna<>("nome", Pessoa::getNome),
+            new ExportWriter.Coluna<>("cpf", Pessoa::getCpf),
+            new ExportWriter.Coluna<>("rg", Pessoa::getRg),
+            new ExportWriter.Coluna<>("telefone", Pessoa::getTelefone),
+            new ExportWriter.Coluna<>("email", Pessoa::getEmail)
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(PessoaController.class);
+    private final PessoaService pessoaService;
+    private final NdjsonReader ndjsonReader;
+    private final ObjectMapper objectMapper;
+
+    public PessoaController(PessoaService pessoaService, NdjsonReader ndjsonReader, ObjectMapper objectMapper) {
+        this.pessoaService = pessoaService;
+        this.ndjsonReader = ndjsonReader;
+        this.objectMapper = objectMapper;
+    }
+
+    // http://localhost:8080/pessoas?page=1&size=10
+
+    @Operation(
+            description = "Busca todas as pessoas paginadas",
+            summary = "Busca de pessoas",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Pessoa.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping
+    public ResponseEntity<List<Pessoa>> findAllPessoas(
+            @RequestParam("page") int page,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/pessoas");
+        var pessoas = this.pessoaService.findAllPessoas(page, size, fields);
+        return ResponseEntity.ok().eTag(Etags.lista(pessoas, Pessoa::getId, Etags::de)).body(pessoas);
+    }
+
+    // http://localhost:8080/pessoas?after=&size=10
+
+    @Operation(
+            description = "Busca todas as pessoas paginadas por cursor, a partir do cursor retornado na página anterior",
+            summary = "Busca de pessoas por cursor",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = CursorPageDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<Pessoa>> findPessoasAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/pessoas?after=" + after);
+        var pessoas = this.pessoaService.findPessoasAfter(after, size, fields);
+        return ResponseEntity.ok().eTag(Etags.pagina(pessoas, Pessoa::getId, Etags::de)).body(pessoas);
+    }
+
+    // http://localhost:8080/pessoas/busca?q=joao%20silva&limite=20
+
+    @Operation(
+            description = "Busca pessoas por parte do nome, do CPF ou do e-mail, ignorando acentos. A busca usa um " +
+                    "índice em memória e retorna as melhores correspondências primeiro",
+            summary = "Busca textual de pessoas",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Pessoa.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/busca")
+    public ResponseEntity<List<Pessoa>> buscarPessoas(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limite", defaultValue = "20") int limite
+    )
+    {
+        logger.info("/pessoas/busca");
+        var pessoas = this.pessoaService.buscarPessoas(q, limite);
+        return ResponseEntity.ok().eTag(Etags.lista(pessoas, Pessoa::getId, Etags::de)).body(pessoas);
+    }
+
+    // http://localhost:8080/pessoas/export?formato=csv
+
+    @Operation(
+            description = "Exporta todos os pessoas em NDJSON ou CSV, escrevendo os registros na resposta " +
+                    "à medida que são lidos do banco",
+            summary = "Exportação de pessoas",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPessoas(
+            @RequestParam(value = "formato", defaultValue = "ndjson") String formato
+    )
+    {
+        logger.info("/pessoas/export");
+        var formatoExportacao = FormatoExportacao.of(formato);
+        StreamingResponseBody corpo = out -> {
+            var writer = new ExportWriter<>(formatoExportacao, out, this.objectMapper, COLUNAS_EXPORTACAO);
+            this.pessoaService.exportarPessoas(writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=pessoas." + formatoExportacao.getExtensao())
+                .body(corpo);
+    }
+
+    // http://localhost:8080/pessoas/1
+
+    @Operation(
+            description = "Busca uma pessoa baseado no id especificado",
+            summary = "Busca de uma pessoa específica",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Pessoa.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<Optional<Pessoa>> findPessoaById(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/pessoas/" + id);
+        var pessoa = this.pessoaService.findById(id, fields);
+        return ResponseEntity.ok().eTag(Etags.de(pessoa.get())).body(pessoa);
+    }
+
+    // POST -> http://localhost:8080/pessoas
+
+    @Operation(
+            description = "Salva um pessoa com base nos dados do corpo da requisição",
+            summary = "Salva um pessoa",
+            responses = {
+                    @ApiResponse(description = "Created", responseCode = "201")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<Void> savePessoa(
+            @RequestBody Pessoa pessoa
+    )
+    {
+        logger.info("POST -> /pessoas");
+        this.pessoaService.savePessoa(pessoa);
+        return ResponseEntity.status(201).build();
+    }
+
+    // POST -> http://localhost:8080/pessoas/lote
+
+    @Operation(
+            description = "Salva várias pessoas de uma vez, a partir de um array JSON ou de NDJSON (um item por linha). " +
+                    "Cada item é validado individualmente e as falhas são reportadas por posição",
+            summary = "Salva pessoas em lote",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = LoteResultadoDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> savePessoas(
+            @RequestBody List<Pessoa> pessoas
+    )
+    {
+        logger.info("POST -> /pessoas/lote");
+        var resultado = this.pessoaService.savePessoas(pessoas.iterator());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> savePessoasNdjson(
+            InputStream corpo
+    )
+    {
+        logger.info("POST -> /pessoas/lote (ndjson)");
+        var resultado = this.pessoaService.savePessoas(this.ndjsonReader.ler(corpo, Pessoa.class));
+        return ResponseEntity.ok(resultado);
+    }
+
+    // PUT -> http://localhost:8080/pessoas/1
+
+    @Operation(
+            description = "Atualiza uma pessoa baseada no id especificada e com as informações do corpo da requisição",
+            summary = "Atualiza uma pessoa específica",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updatePessoa(
+            @PathVariable("id") Long id,
+            @RequestBody Pessoa pessoa,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("PUT -> /pessoas/" + id);
+        this.pessoaService.updatePessoa(pessoa, id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().eTag(Etags.de(pessoa)).build();
+    }
+
+    // DELETE -> http://localhost:8080/pessoas/1
+
+    @Operation(
+            description = "Deleta uma pessoa baseada no id especificado",
+            summary = "Deleta uma pessoa específica",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePessoa(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("DELETE -> /pessoas/" + id);
+        this.pessoaService.deletePessoa(id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
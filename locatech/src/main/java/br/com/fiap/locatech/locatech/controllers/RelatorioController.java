@@ -0,0 +1,144 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.dtos.RelatorioMarcaDTO;
+import br.com.fiap.locatech.locatech.dtos.RelatorioMesDTO;
+import br.com.fiap.locatech.locatech.dtos.RelatorioVeiculoDTO;
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import br.com.fiap.locatech.locatech.services.RelatorioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/relatorios")
+@Tag(name = "Relatório", description = "Controller para relatórios de receita e utilização da frota")
+public class RelatorioController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioController.class);
+    private final RelatorioService relatorioService;
+
+    public RelatorioController(RelatorioService relatorioService) {
+        this.relatorioService = relatorioService;
+    }
+
+    // http://localhost:8080/relatorios/veiculos/1?mes=2025-03
+
+    @Operation(
+            description = "Receita e dias alugados de um veículo em todo o histórico ou no mês informado, " +
+                    "com a utilização do veículo no mês",
+            summary = "Relatório de um veículo",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = RelatorioVeiculoDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping("/veiculos/{veiculoId}")
+    public ResponseEntity<RelatorioVeiculoDTO> relatorioVeiculo(
+            @PathVariable("veiculoId") Long veiculoId,
+            @RequestParam(value = "mes", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes
+    )
+    {
+        logger.info("/relatorios/veiculos/" + veiculoId);
+        var relatorio = this.relatorioService.relatorioVeiculo(veiculoId, mes);
+        return ResponseEntity.ok(relatorio);
+    }
+
+    // http://localhost:8080/relatorios/marcas
+
+    @Operation(
+            description = "Receita e dias alugados de cada marca da frota",
+            summary = "Relatório por marca",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = RelatorioMarcaDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping("/marcas")
+    public ResponseEntity<List<RelatorioMarcaDTO>> relatorioMarcas() {
+
+        logger.info("/relatorios/marcas");
+        var relatorio = this.relatorioService.relatorioMarcas();
+        return ResponseEntity.ok(relatorio);
+    }
+
+    // http://localhost:8080/relatorios/meses/2025-03
+
+    @Operation(
+            description = "Receita, receita média diária e utilização da frota no mês informado",
+            summary = "Relatório mensal",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = RelatorioMesDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping("/meses/{mes}")
+    public ResponseEntity<RelatorioMesDTO> relatorioMes(
+            @PathVariable("mes") @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes
+    )
+    {
+        logger.info("/relatorios/meses/" + mes);
+        var relatorio = this.relatorioService.relatorioMes(mes);
+        return ResponseEntity.ok(relatorio);
+    }
+
+    // http://localhost:8080/relatorios/reconstrucao
+
+    @Operation(
+            description = "Recalcula todos os relatórios a partir do banco",
+            summary = "Reconstrução dos relatórios",
+            responses = {
+                    @ApiResponse(description = "No content", responseCode = "204")
+            }
+    )
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<Void> reconstruir() {
+
+        logger.info("POST -> /relatorios/reconstrucao");
+        this.relatorioService.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+}
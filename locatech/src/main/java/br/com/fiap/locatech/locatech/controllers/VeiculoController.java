@@ -0,0 +1,388 @@
+package br.com.fiap.locatech.locatech.controllers;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import br.com.fiap.locatech.locatech.dtos.VeiculoFiltroDTO;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.services.VeiculoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/veiculos")
+@Tag(name = "Veículo", description = "Controller para CRUD de veículos")
+public class VeiculoController {
+
+    private static final List<ExportWriter.Coluna<Veiculo>> COLUNAS_EXPORTACAO = List.of(
+            new ExportWriter.Coluna<>("id", Veiculo::getId),
+            new ExportWriter.Coluna<>("marca", Veiculo::getMarca),
+            new ExportWriter.Coluna<>("modelo", Veiculo::getModelo),
+            new ExportWriter.Coluna<>("placa", Veiculo::getPlaca),
+            new ExportWriter.Coluna<>("ano", Veiculo::getAno),
+            new ExportWriter.Coluna<>("cor", Veiculo::getCor),
+            new ExportWriter.Coluna<>("valorDiaria", Veiculo::getValorDiaria)
+    );
+
+    private static final Logger logger = LoggerFactory.getLogger(VeiculoController.class);
+    private final VeiculoService veiculoService;
+    private final NdjsonReader ndjsonReader;
+    private final ObjectMapper objectMapper;
+
+    public VeiculoController(VeiculoService veiculoService, NdjsonReader ndjsonReader, ObjectMapper objectMapper) {
+        this.veiculoService = veiculoService;
+        this.ndjsonReader = ndjsonReader;
+        this.objectMapper = objectMapper;
+    }
+
+    // http://localhost:8080/veiculos?page=1&size=10
+
+    @Operation(
+            description = "Busca todos os veículos paginados",
+            summary = "Busca de veículos",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = Veiculo.class)
+                                )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping
+    public ResponseEntity<List<Veiculo>> findAllVeiculos(
+            @RequestParam("page") int page,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/veiculos");
+        var veiculos = this.veiculoService.findAllVeiculos(page, size, fields);
+        return ResponseEntity.ok().eTag(Etags.lista(veiculos, Veiculo::getId, Etags::de)).body(veiculos);
+    }
+
+    // http://localhost:8080/veiculos?after=&size=10
+
+    @Operation(
+            description = "Busca todos os veículos paginados por cursor, a partir do cursor retornado na página anterior",
+            summary = "Busca de veículos por cursor",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = CursorPageDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<Veiculo>> findVeiculosAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam("size") int size,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/veiculos?after=" + after);
+        var veiculos = this.veiculoService.findVeiculosAfter(after, size, fields);
+        return ResponseEntity.ok().eTag(Etags.pagina(veiculos, Veiculo::getId, Etags::de)).body(veiculos);
+    }
+
+    // http://localhost:8080/veiculos/disponiveis?inicio=2025-01-10&fim=2025-01-15
+
+    @Operation(
+            description = "Busca os veículos livres no período informado, consultando o índice de disponibilidade",
+            summary = "Busca de veículos disponíveis",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Veiculo.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/disponiveis")
+    public ResponseEntity<List<Veiculo>> findVeiculosDisponiveis(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim
+    )
+    {
+        logger.info("/veiculos/disponiveis");
+        var veiculos = this.veiculoService.findVeiculosDisponiveis(inicio, fim);
+        return ResponseEntity.ok().eTag(Etags.lista(veiculos, Veiculo::getId, Etags::de)).body(veiculos);
+    }
+
+    // http://localhost:8080/veiculos/filtro?marca=Chevrolet&cor=preto&anoMin=2010&valorMax=150&size=10
+
+    @Operation(
+            description = "Filtra os veículos por marca, modelo e cor (um ou mais valores de cada) e por faixas de ano " +
+                    "e de valor da diária, em qualquer combinação. O filtro é resolvido por um índice de bitmaps em " +
+                    "memória e paginado por cursor",
+            summary = "Filtro de veículos",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = CursorPageDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/filtro")
+    public ResponseEntity<CursorPageDTO<Veiculo>> filtrarVeiculos(
+            @ParameterObject VeiculoFiltroDTO filtro,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    )
+    {
+        logger.info("/veiculos/filtro");
+        var veiculos = this.veiculoService.filtrarVeiculos(filtro, after, size);
+        return ResponseEntity.ok().eTag(Etags.pagina(veiculos, Veiculo::getId, Etags::de)).body(veiculos);
+    }
+
+    // http://localhost:8080/veiculos/export?formato=csv
+
+    @Operation(
+            description = "Exporta todos os veículos em NDJSON ou CSV, escrevendo os registros na resposta " +
+                    "à medida que são lidos do banco",
+            summary = "Exportação de veículos",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVeiculos(
+            @RequestParam(value = "formato", defaultValue = "ndjson") String formato
+    )
+    {
+        logger.info("/veiculos/export");
+        var formatoExportacao = FormatoExportacao.of(formato);
+        StreamingResponseBody corpo = out -> {
+            var writer = new ExportWriter<>(formatoExportacao, out, this.objectMapper, COLUNAS_EXPORTACAO);
+            this.veiculoService.exportarVeiculos(writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=veiculos." + formatoExportacao.getExtensao())
+                .body(corpo);
+    }
+
+    // http://localhost:8080/veiculos/1
+
+    @Operation(
+            description = "Busca um veículo baseado no id especificado",
+            summary = "Busca de um veículo específico",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Veiculo.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "Not modified", responseCode = "304")
+            }
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<Optional<Veiculo>> findVeiculoById(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "fields", required = false) List<String> fields
+    )
+    {
+        logger.info("/veiculos/" + id);
+        var veiculo = this.veiculoService.findVeiculoById(id, fields);
+        return ResponseEntity.ok().eTag(Etags.de(veiculo.get())).body(veiculo);
+    }
+
+    // POST -> http://localhost:8080/veiculos
+
+    @Operation(
+            description = "Salva um veículo com base nos dados do corpo da requisição",
+            summary = "Salva um veículo",
+            responses = {
+                    @ApiResponse(description = "Created", responseCode = "201")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<Void> saveVeiculo(
+            @RequestBody Veiculo veiculo
+    )
+    {
+        logger.info("POST -> /veiculos");
+        this.veiculoService.saveVeiculo(veiculo);
+        return ResponseEntity.status(201).build();
+    }
+
+    // POST -> http://localhost:8080/veiculos/lote
+
+    @Operation(
+            description = "Salva vários veículos de uma vez, a partir de um array JSON ou de NDJSON (um item por linha). " +
+                    "Cada item é validado individualmente e as falhas são reportadas por posição",
+            summary = "Salva veículos em lote",
+            responses = {
+                    @ApiResponse(
+                            description = "Ok",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = LoteResultadoDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> saveVeiculos(
+            @RequestBody List<Veiculo> veiculos
+    )
+    {
+        logger.info("POST -> /veiculos/lote");
+        var resultado = this.veiculoService.saveVeiculos(veiculos.iterator());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<LoteResultadoDTO> saveVeiculosNdjson(
+            InputStream corpo
+    )
+    {
+        logger.info("POST -> /veiculos/lote (ndjson)");
+        var resultado = this.veiculoService.saveVeiculos(this.ndjsonReader.ler(corpo, Veiculo.class));
+        return ResponseEntity.ok(resultado);
+    }
+
+    // PUT -> http://localhost:8080/veiculos/1
+
+    @Operation(
+            description = "Atualiza um veículo baseado no id especificado e com as informações do corpo da requisição",
+            summary = "Atualiza um veículo específico",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateVeiculo(
+            @PathVariable("id") Long id,
+            @RequestBody Veiculo veiculo,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("PUT -> /veiculos/" + id);
+        this.veiculoService.updateVeiculo(veiculo, id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().eTag(Etags.de(veiculo)).build();
+    }
+
+    // DELETE -> http://localhost:8080/veiculos/1
+
+    @Operation(
+            description = "Deleta um veículo baseado no id especificado",
+            summary = "Deleta um veículo específico",
+            responses = {
+                    @ApiResponse(description = "Ok", responseCode = "200"),
+                    @ApiResponse(
+                            description = "Not found",
+                            responseCode = "404",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            description = "Precondition failed",
+                            responseCode = "412",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = ResourceNotFoundDTO.class)
+                                    )
+                            }
+                    )
+            }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteVeiculo(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    )
+    {
+        logger.info("DELETE -> /veiculos/" + id);
+        this.veiculoService.deleteVeiculo(id, Etags.versao(ifMatch));
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
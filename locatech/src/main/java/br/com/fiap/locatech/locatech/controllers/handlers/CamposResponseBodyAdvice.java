@@ -0,0 +1,51 @@
+package br.com.fiap.locatech.locatech.controllers.handlers;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restringe o JSON das entidades aos campos pedidos em {@code ?fields=}. As consultas já trazem só essas
+ * colunas; aqui os demais campos, vazios na entidade, deixam de ser escritos.
+ */
+@ControllerAdvice
+public class CamposResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FILTRO = "campos";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        var valores = servletRequest.getServletRequest().getParameterValues("fields");
+        if (valores == null) {
+            return;
+        }
+        Set<String> campos = Arrays.stream(valores)
+                .flatMap(valor -> Arrays.stream(valor.split(",")))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .collect(Collectors.toSet());
+        if (campos.isEmpty()) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTRO, SimpleBeanPropertyFilter.filterOutAllExcept(campos))
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.locatech.locatech.controllers.handlers;
+
+import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
+import br.com.fiap.locatech.locatech.dtos.ValidationErrorDTO;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.ConflictException;
+import br.com.fiap.locatech.locatech.exceptions.PreconditionFailedException;
+import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
+import br.com.fiap.locatech.locatech.exceptions.ServiceUnavailableException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ControllerAdvice
+public class ControllerExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ResourceNotFoundDTO> handlerResourceNotFoundException(ResourceNotFoundException e) {
+
+        var status = HttpStatus.NOT_FOUND;
+        return ResponseEntity.status(status.value()).body(new ResourceNotFoundDTO(e.getMessage(), status.value()));
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ResourceNotFoundDTO> handlerConflictException(ConflictException e) {
+
+        var status = HttpStatus.CONFLICT;
+        return ResponseEntity.status(status.value()).body(new ResourceNotFoundDTO(e.getMessage(), status.value()));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ResourceNotFoundDTO> handlerPreconditionFailedException(PreconditionFailedException e) {
+
+        var status = HttpStatus.PRECONDITION_FAILED;
+        return ResponseEntity.status(status.value()).body(new ResourceNotFoundDTO(e.getMessage(), status.value()));
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<ResourceNotFoundDTO> handlerDuplicateKeyException(DuplicateKeyException e) {
+
+        var status = HttpStatus.CONFLICT;
+        return ResponseEntity.status(status.value()).body(new ResourceNotFoundDTO("Placa ou CPF já cadastrado", status.value()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ResourceNotFoundDTO> handlerServiceUnavailableException(ServiceUnavailableException e) {
+
+        var status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status.value())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResourceNotFoundDTO(e.getMessage(), status.value()));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ValidationErrorDTO> handlerBadRequestException(BadRequestException e) {
+
+        var status = HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status.value()).body(new ValidationErrorDTO(List.of(e.getMessage()), status.value()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ValidationErrorDTO> handlerMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+
+        var status = HttpStatus.BAD_REQUEST;
+        List<String> errors = new ArrayList<>();
+        for (FieldError fieldError : e.getBindingResult().getFieldErrors()) {
+            errors.add(fieldError.getField() + ": " + fieldError.getDefaultMessage());
+        }
+        return ResponseEntity.status(status.value()).body(new ValidationErrorDTO(errors, status.value()));
+    }
+}
\ No newline at end of file
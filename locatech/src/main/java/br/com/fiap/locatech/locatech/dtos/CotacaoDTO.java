@@ -0,0 +1,25 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record CotacaoDTO(
+        Long veiculoId,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        @Schema(description = "Quantidade de diárias")
+        long dias,
+        BigDecimal valorDiaria,
+        BigDecimal valorTotal,
+        @Schema(description = "Se o veículo está livre no período")
+        boolean disponivel,
+        @Schema(description = "Motivo de o item não ter sido cotado, quando houver")
+        String erro
+) {
+
+    public static CotacaoDTO erro(CotacaoRequestDTO cotacao, String erro) {
+        return new CotacaoDTO(cotacao.veiculoId(), cotacao.dataInicio(), cotacao.dataFim(), 0, null, null, false, erro);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record CotacaoRequestDTO(
+
+        @Schema(description = "Id do veículo a ser cotado")
+        Long veiculoId,
+        @Schema(description = "Data de início do aluguel")
+        LocalDate dataInicio,
+        @Schema(description = "Data fim do aluguel")
+        LocalDate dataFim
+) {}
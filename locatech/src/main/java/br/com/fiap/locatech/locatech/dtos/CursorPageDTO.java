@@ -0,0 +1,12 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        @Schema(description = "Registros da página")
+        List<T> content,
+        @Schema(description = "Cursor opaco para a próxima página, nulo quando não há mais registros")
+        String nextCursor
+) {}
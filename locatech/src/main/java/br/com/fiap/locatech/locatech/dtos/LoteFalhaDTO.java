@@ -0,0 +1,12 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record LoteFalhaDTO(
+        @Schema(description = "Posição do item no lote enviado, começando em zero")
+        int indice,
+        @Schema(description = "Erros encontrados para o item")
+        List<String> erros
+) {}
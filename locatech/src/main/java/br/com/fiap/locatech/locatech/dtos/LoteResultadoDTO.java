@@ -0,0 +1,14 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record LoteResultadoDTO(
+        @Schema(description = "Quantidade de itens recebidos")
+        int total,
+        @Schema(description = "Quantidade de itens gravados")
+        int inseridos,
+        @Schema(description = "Itens que não foram gravados e o motivo")
+        List<LoteFalhaDTO> falhas
+) {}
@@ -0,0 +1,14 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+public record RelatorioMarcaDTO(
+        String marca,
+        long alugueis,
+        long diasAlugados,
+        BigDecimal receita,
+        @Schema(description = "Receita média por dia alugado")
+        BigDecimal receitaPorDiaAlugado
+) {}
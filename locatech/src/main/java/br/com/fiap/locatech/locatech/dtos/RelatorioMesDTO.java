@@ -0,0 +1,19 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+public record RelatorioMesDTO(
+        @Schema(description = "Mês do relatório (yyyy-MM)")
+        String mes,
+        @Schema(description = "Alugueis iniciados no mês")
+        long alugueis,
+        long diasAlugados,
+        @Schema(description = "Receita dos dias alugados no mês, rateada pelos dias de cada aluguel")
+        BigDecimal receita,
+        @Schema(description = "Receita dividida pelos dias do mês")
+        BigDecimal receitaMediaDiaria,
+        @Schema(description = "Percentual dos dias-veículo da frota atual que estiveram alugados no mês")
+        BigDecimal utilizacao
+) {}
@@ -0,0 +1,19 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+public record RelatorioVeiculoDTO(
+        Long veiculoId,
+        String marca,
+        @Schema(description = "Mês do relatório (yyyy-MM) ou nulo para todo o histórico")
+        String mes,
+        long alugueis,
+        long diasAlugados,
+        BigDecimal receita,
+        @Schema(description = "Receita média por dia alugado")
+        BigDecimal receitaPorDiaAlugado,
+        @Schema(description = "Percentual dos dias do mês em que o veículo esteve alugado, quando o mês é informado")
+        BigDecimal utilizacao
+) {}
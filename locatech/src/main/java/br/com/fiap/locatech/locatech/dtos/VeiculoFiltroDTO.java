@@ -0,0 +1,23 @@
+package br.com.fiap.locatech.locatech.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record VeiculoFiltroDTO(
+        @Schema(description = "Marcas aceitas; qualquer uma delas serve")
+        List<String> marca,
+        @Schema(description = "Modelos aceitos; qualquer um deles serve")
+        List<String> modelo,
+        @Schema(description = "Cores aceitas; qualquer uma delas serve")
+        List<String> cor,
+        @Schema(description = "Ano mínimo, inclusive")
+        Integer anoMin,
+        @Schema(description = "Ano máximo, inclusive")
+        Integer anoMax,
+        @Schema(description = "Valor mínimo da diária, inclusive")
+        BigDecimal valorMin,
+        @Schema(description = "Valor máximo da diária, inclusive")
+        BigDecimal valorMax
+) {}
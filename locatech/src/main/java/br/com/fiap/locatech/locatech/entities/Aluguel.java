@@ -1,11 +1,14 @@
 package br.com.fiap.locatech.locatech.entities;
 
 import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@GerarRowMapper
+@JsonFilter("campos")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +26,7 @@ public class Aluguel {
     private LocalDate dataInicio;
     private LocalDate dataFim;
     private BigDecimal valorTotal;
+    private Long versao;
 
     public Aluguel(AluguelRequestDTO aluguelDTO, BigDecimal valor) {
         this.pessoaId = aluguelDTO.pessoaId();
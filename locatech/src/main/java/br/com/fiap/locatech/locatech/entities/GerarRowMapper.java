@@ -0,0 +1,15 @@
+package br.com.fiap.locatech.locatech.entities;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pede ao {@code locatech-processor} um {@code <Entidade>RowMapper} que lê as colunas por posição, na ordem
+ * de declaração dos campos, direto no construtor com todos os campos.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GerarRowMapper {
+}
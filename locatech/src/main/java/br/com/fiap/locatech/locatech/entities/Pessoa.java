@@ -1,7 +1,10 @@
 package br.com.fiap.locatech.locatech.entities;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
+@GerarRowMapper
+@JsonFilter("campos")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,4 +19,5 @@ public class Pessoa {
     private String rg;
     private String telefone;
     private String email;
+    private Long versao;
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package br.com.fiap.locatech.locatech.entities;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.math.BigDecimal;
 
+@GerarRowMapper
+@JsonFilter("campos")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,4 +22,5 @@ public class Veiculo {
     private int ano;
     private String cor;
     private BigDecimal valorDiaria;
+    private Long versao;
 }
\ No newline at end of file
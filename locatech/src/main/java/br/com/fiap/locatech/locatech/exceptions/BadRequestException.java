@@ -0,0 +1,8 @@
+package br.com.fiap.locatech.locatech.exceptions;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.locatech.locatech.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.locatech.locatech.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
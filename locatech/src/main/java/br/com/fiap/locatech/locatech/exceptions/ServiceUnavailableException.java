@@ -0,0 +1,8 @@
+package br.com.fiap.locatech.locatech.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.fiap.locatech.locatech.indexes;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice em memória dos períodos alugados de cada veículo.
+ * <p>
+ * Os períodos são tratados como intervalos semiabertos {@code [dataInicio, dataFim)}: o veículo devolvido
+ * em um dia pode ser retirado novamente no mesmo dia. Como reservas sobrepostas são rejeitadas, os
+ * períodos de um mesmo veículo não se sobrepõem e basta olhar o período de maior início anterior a
+ * {@code dataFim} para saber se há conflito.
+ */
+@Component
+public class DisponibilidadeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisponibilidadeIndex.class);
+    private static final Comparator<Periodo> POR_INICIO = Comparator
+            .comparing(Periodo::inicio)
+            .thenComparing(Periodo::aluguelId);
+
+    private final AluguelRepository aluguelRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final Map<Long, NavigableSet<Periodo>> periodosPorVeiculo = new ConcurrentHashMap<>();
+    private final Map<Long, Periodo> periodosPorAluguel = new ConcurrentHashMap<>();
+    private final Set<Long> veiculos = ConcurrentHashMap.newKeySet();
+
+    public DisponibilidadeIndex(AluguelRepository aluguelRepository, VeiculoRepository veiculoRepository) {
+        this.aluguelRepository = aluguelRepository;
+        this.veiculoRepository = veiculoRepository;
+    }
+
+    @PostConstruct
+    public void carregar() {
+
+        this.veiculos.addAll(this.veiculoRepository.findAllIds());
+        var alugueis = this.aluguelRepository.findAllPeriodos();
+        alugueis.forEach(this::adicionar);
+        logger.info("Índice de disponibilidade carregado: {} veículos, {} alugueis", this.veiculos.size(), alugueis.size());
+    }
+
+    public boolean conflita(Long veiculoId, LocalDate inicio, LocalDate fim, Long ignorarAluguelId) {
+
+        var periodos = this.periodosPorVeiculo.get(veiculoId);
+        if (periodos == null) {
+            return false;
+        }
+        var sonda = new Periodo(Long.MIN_VALUE, veiculoId, fim, fim);
+        for (var periodo : periodos.headSet(sonda, false).descendingSet()) {
+            if (periodo.aluguelId().equals(ignorarAluguelId)) {
+                continue;
+            }
+            return periodo.fim().isAfter(inicio);
+        }
+        return false;
+    }
+
+    public List<Long> disponiveis(LocalDate inicio, LocalDate fim) {
+
+        return this.veiculos.stream()
+                .filter(veiculoId -> !this.conflita(veiculoId, inicio, fim, null))
+                .sorted()
+                .toList();
+    }
+
+    public Optional<Long> veiculoDoAluguel(Long aluguelId) {
+        return Optional.ofNullable(this.periodosPorAluguel.get(aluguelId)).map(Periodo::veiculoId);
+    }
+
+    public Optional<LocalDate> inicioDoAluguel(Long aluguelId) {
+        return Optional.ofNullable(this.periodosPorAluguel.get(aluguelId)).map(Periodo::inicio);
+    }
+
+    public void adicionar(Aluguel aluguel) {
+
+        var periodo = new Periodo(aluguel.getId(), aluguel.getVeiculoId(), aluguel.getDataInicio(), aluguel.getDataFim());
+        var anterior = this.periodosPorAluguel.put(periodo.aluguelId(), periodo);
+        if (anterior != null) {
+            this.removerDoVeiculo(anterior);
+        }
+        this.veiculos.add(periodo.veiculoId());
+        this.periodosPorVeiculo
+                .computeIfAbsent(periodo.veiculoId(), id -> new ConcurrentSkipListSet<>(POR_INICIO))
+                .add(periodo);
+    }
+
+    public void remover(Long aluguelId) {
+
+        var periodo = this.periodosPorAluguel.remove(aluguelId);
+        if (periodo != null) {
+            this.removerDoVeiculo(periodo);
+        }
+    }
+
+    public void registrarVeiculo(Long veiculoId) {
+        this.veiculos.add(veiculoId);
+    }
+
+    public void removerVeiculo(Long veiculoId) {
+
+        this.veiculos.remove(veiculoId);
+        this.periodosPorVeiculo.remove(veiculoId);
+    }
+
+    private void removerDoVeiculo(Periodo periodo) {
+
+        var periodos = this.periodosPorVeiculo.get(periodo.veiculoId());
+        if (periodos != null) {
+            periodos.remove(periodo);
+        }
+    }
+
+    private record Periodo(Long aluguelId, Long veiculoId, LocalDate inicio, LocalDate fim) {}
+}
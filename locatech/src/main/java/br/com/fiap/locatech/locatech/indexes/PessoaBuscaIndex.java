@@ -0,0 +1,251 @@
+package br.com.fiap.locatech.locatech.indexes;
+
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.repositories.PessoaRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para busca de pessoas por parte do nome, do CPF ou do e-mail, sem consultar o banco.
+ * <p>
+ * Os termos de cada pessoa (palavras do nome sem acentos e em minúsculas, os dígitos do CPF e o e-mail)
+ * são quebrados em trigramas. Um termo buscado com três ou mais caracteres é procurado pela interseção
+ * dos trigramas e confirmado nos termos; termos mais curtos são procurados como prefixo. O resultado é
+ * ordenado pela qualidade das correspondências: termo igual, prefixo e, por último, trecho do meio.
+ */
+@Component
+public class PessoaBuscaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PessoaBuscaIndex.class);
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES_NOME = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DOCUMENTO = Pattern.compile("[\\d./-]+");
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final PessoaRepository pessoaRepository;
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> porTrigrama = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> porTermo = new ConcurrentSkipListMap<>();
+
+    public PessoaBuscaIndex(PessoaRepository pessoaRepository) {
+        this.pessoaRepository = pessoaRepository;
+    }
+
+    @PostConstruct
+    public void carregar() {
+
+        this.pessoaRepository.exportAll(this::adicionar);
+        logger.info("Índice de busca de pessoas carregado: {} pessoas, {} trigramas", this.entradas.size(), this.porTrigrama.size());
+    }
+
+    public List<Pessoa> buscar(String consulta, int limite) {
+
+        var termos = termosDaConsulta(consulta);
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> pontuacoes = null;
+        for (var termo : termos) {
+            var doTermo = this.pontuar(termo);
+            if (pontuacoes == null) {
+                pontuacoes = doTermo;
+            } else {
+                pontuacoes.keySet().retainAll(doTermo.keySet());
+                pontuacoes.replaceAll((id, pontos) -> pontos + doTermo.get(id));
+            }
+            if (pontuacoes.isEmpty()) {
+                return List.of();
+            }
+        }
+        var pontos = pontuacoes;
+        return pontos.keySet().stream()
+                .map(this.entradas::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.<Entrada>comparingInt(entrada -> pontos.get(entrada.pessoa().getId())).reversed()
+                        .thenComparing(Entrada::nomeNormalizado)
+                        .thenComparing(entrada -> entrada.pessoa().getId()))
+                .limit(limite)
+                .map(Entrada::pessoa)
+                .toList();
+    }
+
+    /**
+     * Inclui a pessoa ou substitui os termos que ela tinha no índice. Gravações concorrentes chegam aqui depois
+     * do commit em qualquer ordem; a entrada de versão mais nova é mantida.
+     */
+    public synchronized void adicionar(Pessoa pessoa) {
+
+        var atual = this.entradas.get(pessoa.getId());
+        if (atual != null && atual.pessoa().getVersao() != null && pessoa.getVersao() != null
+                && atual.pessoa().getVersao() > pessoa.getVersao()) {
+            return;
+        }
+        this.remover(pessoa.getId());
+        var copia = new Pessoa(pessoa.getId(), pessoa.getNome(), pessoa.getCpf(), pessoa.getRg(), pessoa.getTelefone(),
+                pessoa.getEmail(), pessoa.getVersao());
+        var entrada = new Entrada(copia, normalizar(pessoa.getNome()), termosDaPessoa(pessoa));
+        this.entradas.put(pessoa.getId(), entrada);
+        for (var termo : entrada.termos()) {
+            this.porTermo.computeIfAbsent(termo, chave -> ConcurrentHashMap.newKeySet()).add(pessoa.getId());
+            for (var trigrama : trigramas(termo)) {
+                this.porTrigrama.computeIfAbsent(trigrama, chave -> ConcurrentHashMap.newKeySet()).add(pessoa.getId());
+            }
+        }
+    }
+
+    public synchronized void remover(Long pessoaId) {
+
+        var entrada = this.entradas.remove(pessoaId);
+        if (entrada == null) {
+            return;
+        }
+        for (var termo : entrada.termos()) {
+            removerId(this.porTermo, termo, pessoaId);
+            for (var trigrama : trigramas(termo)) {
+                removerId(this.porTrigrama, trigrama, pessoaId);
+            }
+        }
+    }
+
+    // 3 pontos para termo igual, 2 para prefixo e 1 para trecho do meio; vale a melhor correspondência da pessoa
+    private Map<Long, Integer> pontuar(String termo) {
+
+        Map<Long, Integer> pontuacoes = new HashMap<>();
+        if (termo.length() < TAMANHO_GRAMA) {
+            this.porTermo.subMap(termo, true, termo + Character.MAX_VALUE, false).forEach((indexado, ids) -> {
+                var pontos = indexado.equals(termo) ? 3 : 2;
+                ids.forEach(id -> pontuacoes.merge(id, pontos, Math::max));
+            });
+            return pontuacoes;
+        }
+        for (var id : this.candidatos(termo)) {
+            var entrada = this.entradas.get(id);
+            if (entrada == null) {
+                continue;
+            }
+            var melhor = 0;
+            for (var indexado : entrada.termos()) {
+                if (indexado.equals(termo)) {
+                    melhor = 3;
+                } else if (indexado.startsWith(termo)) {
+                    melhor = Math.max(melhor, 2);
+                } else if (indexado.contains(termo)) {
+                    melhor = Math.max(melhor, 1);
+                }
+            }
+            if (melhor > 0) {
+                pontuacoes.put(id, melhor);
+            }
+        }
+        return pontuacoes;
+    }
+
+    // interseção das listas de trigramas, começando pela menor
+    private Set<Long> candidatos(String termo) {
+
+        List<Set<Long>> listas = new ArrayList<>();
+        for (var trigrama : trigramas(termo)) {
+            var ids = this.porTrigrama.get(trigrama);
+            if (ids == null) {
+                return Set.of();
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidatos = new HashSet<>(listas.getFirst());
+        for (int i = 1; i < listas.size() && !candidatos.isEmpty(); i++) {
+            candidatos.retainAll(listas.get(i));
+        }
+        return candidatos;
+    }
+
+    private static List<String> termosDaPessoa(Pessoa pessoa) {
+
+        Set<String> termos = new HashSet<>();
+        var nome = normalizar(pessoa.getNome());
+        if (!nome.isEmpty()) {
+            termos.addAll(Arrays.asList(SEPARADORES_NOME.split(nome)));
+        }
+        var cpf = somenteDigitos(pessoa.getCpf());
+        if (!cpf.isEmpty()) {
+            termos.add(cpf);
+        }
+        var email = normalizar(pessoa.getEmail());
+        if (!email.isEmpty()) {
+            termos.add(email);
+        }
+        termos.remove("");
+        return List.copyOf(termos);
+    }
+
+    private static List<String> termosDaConsulta(String consulta) {
+
+        var normalizada = normalizar(consulta);
+        if (normalizada.isBlank()) {
+            return List.of();
+        }
+        // CPF digitado com pontuação ou espaços vira um único termo só de dígitos
+        if (DOCUMENTO.matcher(normalizada.replace(" ", "")).matches()) {
+            return List.of(somenteDigitos(normalizada));
+        }
+        List<String> termos = new ArrayList<>();
+        for (var parte : normalizada.split("\\s+")) {
+            var termo = parte.contains("@") ? parte : SEPARADORES_NOME.matcher(parte).replaceAll("");
+            if (!termo.isEmpty()) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    private static String normalizar(String texto) {
+
+        if (texto == null) {
+            return "";
+        }
+        var semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static String somenteDigitos(String texto) {
+        return texto == null ? "" : texto.replaceAll("\\D", "");
+    }
+
+    private static Set<String> trigramas(String termo) {
+
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_GRAMA <= termo.length(); i++) {
+            trigramas.add(termo.substring(i, i + TAMANHO_GRAMA));
+        }
+        return trigramas;
+    }
+
+    private static void removerId(Map<String, Set<Long>> mapa, String chave, Long id) {
+
+        mapa.computeIfPresent(chave, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record Entrada(Pessoa pessoa, String nomeNormalizado, List<String> termos) {
+    }
+}
@@ -0,0 +1,317 @@
+package br.com.fiap.locatech.locatech.indexes;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Totais de receita e de dias alugados por veículo, por marca, por mês e por veículo em cada mês, atualizados
+ * a cada gravação de aluguel para que os relatórios não dependam do tamanho do histórico.
+ * <p>
+ * Como no {@link DisponibilidadeIndex}, um aluguel ocupa os dias de {@code [dataInicio, dataFim)}. A receita
+ * é rateada entre os meses proporcionalmente aos dias e o último mês recebe a diferença de arredondamento.
+ * A contribuição de cada aluguel fica guardada para que alterações e exclusões sejam desfeitas sem reler o
+ * banco. As escritas são serializadas; as leituras não bloqueiam.
+ */
+@Component
+public class RelatorioIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioIndex.class);
+    private static final int VEICULOS_POR_TAREFA = 500;
+    private static final String SEM_MARCA = "Sem marca";
+
+    private final AluguelRepository aluguelRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final int paralelismo;
+    private volatile Agregados agregados = new Agregados(new ConcurrentHashMap<>());
+    // alugueis e veículos alterados enquanto uma reconstrução lê o banco
+    private Set<Long> alugueisPendentes;
+    private Set<Long> veiculosPendentes;
+
+    public RelatorioIndex(
+            AluguelRepository aluguelRepository,
+            VeiculoRepository veiculoRepository,
+            @Value("${locatech.relatorios.paralelismo:4}") int paralelismo
+    ) {
+        this.aluguelRepository = aluguelRepository;
+        this.veiculoRepository = veiculoRepository;
+        this.paralelismo = paralelismo;
+    }
+
+    @PostConstruct
+    public void carregar() {
+        this.reconstruir();
+    }
+
+    /**
+     * Recalcula todos os totais a partir do banco, dividindo a frota em blocos de veículos lidos em paralelo.
+     * As gravações feitas durante a leitura são relidas do banco antes de a reconstrução terminar.
+     */
+    public void reconstruir() {
+
+        var inicio = System.nanoTime();
+        synchronized (this) {
+            this.alugueisPendentes = new HashSet<>();
+            this.veiculosPendentes = new HashSet<>();
+        }
+        Map<Long, String> marcas = new ConcurrentHashMap<>();
+        this.veiculoRepository.findAllMarcas()
+                .forEach(veiculo -> marcas.put(veiculo.getId(), marcaOuPadrao(veiculo.getMarca())));
+        Agregados novos;
+        try (var pool = new ForkJoinPool(this.paralelismo)) {
+            novos = pool.invoke(new Reconstrucao(List.copyOf(marcas.keySet()), marcas));
+        }
+        synchronized (this) {
+            this.agregados = novos;
+            var alugueis = this.alugueisPendentes;
+            var veiculos = this.veiculosPendentes;
+            this.alugueisPendentes = null;
+            this.veiculosPendentes = null;
+            veiculos.forEach(veiculoId -> this.veiculoRepository.findById(veiculoId).ifPresentOrElse(
+                    veiculo -> this.registrarVeiculo(veiculoId, veiculo.getMarca()),
+                    () -> this.removerVeiculo(veiculoId)));
+            // um aluguel arquivado no meio da reconstrução continua nos relatórios
+            alugueis.forEach(aluguelId -> this.aluguelRepository.findById(aluguelId)
+                    .or(() -> this.aluguelRepository.findArquivadoById(aluguelId))
+                    .ifPresentOrElse(this::adicionar, () -> this.remover(aluguelId)));
+        }
+        logger.info("Relatórios reconstruídos: {} veículos, {} alugueis em {} ms", novos.marcas.size(),
+                novos.contribuicoes.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public synchronized void adicionar(Aluguel aluguel) {
+
+        if (this.alugueisPendentes != null) {
+            this.alugueisPendentes.add(aluguel.getId());
+        }
+        this.agregados.adicionar(aluguel);
+    }
+
+    public synchronized void remover(Long aluguelId) {
+
+        if (this.alugueisPendentes != null) {
+            this.alugueisPendentes.add(aluguelId);
+        }
+        this.agregados.remover(aluguelId);
+    }
+
+    /**
+     * Registra um veículo novo ou a troca de marca de um veículo existente, movendo os totais dele para a
+     * nova marca.
+     */
+    public synchronized void registrarVeiculo(Long veiculoId, String marca) {
+
+        if (this.veiculosPendentes != null) {
+            this.veiculosPendentes.add(veiculoId);
+        }
+        var atual = this.agregados;
+        var nova = marcaOuPadrao(marca);
+        var anterior = atual.marcas.put(veiculoId, nova);
+        var totais = atual.porVeiculo.get(veiculoId);
+        if (anterior != null && !anterior.equals(nova) && totais != null) {
+            atual.porMarca.merge(anterior, totais.negar(), Totais::somarOuRemover);
+            atual.porMarca.merge(nova, totais, Totais::somarOuRemover);
+        }
+    }
+
+    public synchronized void removerVeiculo(Long veiculoId) {
+
+        if (this.veiculosPendentes != null) {
+            this.veiculosPendentes.add(veiculoId);
+        }
+        this.agregados.marcas.remove(veiculoId);
+    }
+
+    public Optional<String> marca(Long veiculoId) {
+        return Optional.ofNullable(this.agregados.marcas.get(veiculoId));
+    }
+
+    public Totais porVeiculo(Long veiculoId) {
+        return this.agregados.porVeiculo.getOrDefault(veiculoId, Totais.ZERO);
+    }
+
+    public Totais porVeiculo(Long veiculoId, YearMonth mes) {
+        return this.agregados.porVeiculoMes.getOrDefault(new VeiculoMes(veiculoId, mes), Totais.ZERO);
+    }
+
+    public Map<String, Totais> porMarca() {
+        return new TreeMap<>(this.agregados.porMarca);
+    }
+
+    public Totais porMes(YearMonth mes) {
+        return this.agregados.porMes.getOrDefault(mes, Totais.ZERO);
+    }
+
+    public int frota() {
+        return this.agregados.marcas.size();
+    }
+
+    private static String marcaOuPadrao(String marca) {
+        return marca == null || marca.isBlank() ? SEM_MARCA : marca;
+    }
+
+    /**
+     * Quantidade de alugueis, dias alugados e receita. Nos totais por mês, os alugueis são contados no mês de
+     * início.
+     */
+    public record Totais(long alugueis, long dias, BigDecimal receita) {
+
+        public static final Totais ZERO = new Totais(0, 0, BigDecimal.ZERO);
+
+        Totais negar() {
+            return new Totais(-this.alugueis, -this.dias, this.receita.negate());
+        }
+
+        // devolve null quando o total zera, o que remove a chave no merge
+        static Totais somarOuRemover(Totais a, Totais b) {
+
+            var soma = new Totais(a.alugueis + b.alugueis, a.dias + b.dias, a.receita.add(b.receita));
+            return soma.alugueis == 0 && soma.dias == 0 && soma.receita.signum() == 0 ? null : soma;
+        }
+    }
+
+    private record Contribuicao(Long veiculoId, LocalDate inicio, LocalDate fim, BigDecimal valor) {
+
+        static Contribuicao de(Aluguel aluguel) {
+            return new Contribuicao(aluguel.getVeiculoId(), aluguel.getDataInicio(), aluguel.getDataFim(),
+                    Objects.requireNonNullElse(aluguel.getValorTotal(), BigDecimal.ZERO));
+        }
+
+        long dias() {
+            return ChronoUnit.DAYS.between(this.inicio, this.fim);
+        }
+
+        Map<YearMonth, Totais> porMes() {
+
+            var dias = this.dias();
+            var mes = YearMonth.from(this.inicio);
+            if (dias <= 0) {
+                return Map.of(mes, new Totais(1, 0, this.valor));
+            }
+            Map<YearMonth, Totais> meses = new LinkedHashMap<>();
+            var dia = this.inicio;
+            var restante = this.valor;
+            while (dia.isBefore(this.fim)) {
+                var proximoMes = mes.plusMonths(1).atDay(1);
+                var ate = proximoMes.isBefore(this.fim) ? proximoMes : this.fim;
+                var diasNoMes = ChronoUnit.DAYS.between(dia, ate);
+                var receita = ate.equals(this.fim)
+                        ? restante
+                        : this.valor.multiply(BigDecimal.valueOf(diasNoMes)).divide(BigDecimal.valueOf(dias), 2, RoundingMode.HALF_EVEN);
+                restante = restante.subtract(receita);
+                meses.put(mes, new Totais(dia.equals(this.inicio) ? 1 : 0, diasNoMes, receita));
+                dia = ate;
+                mes = mes.plusMonths(1);
+            }
+            return meses;
+        }
+    }
+
+    private record VeiculoMes(Long veiculoId, YearMonth mes) {
+    }
+
+    private static final class Agregados {
+
+        private final Map<Long, String> marcas;
+        private final Map<Long, Contribuicao> contribuicoes = new ConcurrentHashMap<>();
+        private final Map<Long, Totais> porVeiculo = new ConcurrentHashMap<>();
+        private final Map<String, Totais> porMarca = new ConcurrentHashMap<>();
+        private final Map<YearMonth, Totais> porMes = new ConcurrentHashMap<>();
+        private final Map<VeiculoMes, Totais> porVeiculoMes = new ConcurrentHashMap<>();
+
+        private Agregados(Map<Long, String> marcas) {
+            this.marcas = marcas;
+        }
+
+        void adicionar(Aluguel aluguel) {
+
+            var contribuicao = Contribuicao.de(aluguel);
+            var anterior = this.contribuicoes.put(aluguel.getId(), contribuicao);
+            if (anterior != null) {
+                this.somar(anterior, true);
+            }
+            this.somar(contribuicao, false);
+        }
+
+        void remover(Long aluguelId) {
+
+            var anterior = this.contribuicoes.remove(aluguelId);
+            if (anterior != null) {
+                this.somar(anterior, true);
+            }
+        }
+
+        Agregados incorporar(Agregados outro) {
+
+            this.contribuicoes.putAll(outro.contribuicoes);
+            outro.porVeiculo.forEach((chave, totais) -> this.porVeiculo.merge(chave, totais, Totais::somarOuRemover));
+            outro.porMarca.forEach((chave, totais) -> this.porMarca.merge(chave, totais, Totais::somarOuRemover));
+            outro.porMes.forEach((chave, totais) -> this.porMes.merge(chave, totais, Totais::somarOuRemover));
+            outro.porVeiculoMes.forEach((chave, totais) -> this.porVeiculoMes.merge(chave, totais, Totais::somarOuRemover));
+            return this;
+        }
+
+        private void somar(Contribuicao contribuicao, boolean desfazer) {
+
+            var totais = new Totais(1, Math.max(contribuicao.dias(), 0), contribuicao.valor());
+            var parcela = desfazer ? totais.negar() : totais;
+            this.porVeiculo.merge(contribuicao.veiculoId(), parcela, Totais::somarOuRemover);
+            this.porMarca.merge(this.marcas.getOrDefault(contribuicao.veiculoId(), SEM_MARCA), parcela, Totais::somarOuRemover);
+            contribuicao.porMes().forEach((mes, doMes) -> {
+                var parcelaDoMes = desfazer ? doMes.negar() : doMes;
+                this.porMes.merge(mes, parcelaDoMes, Totais::somarOuRemover);
+                this.porVeiculoMes.merge(new VeiculoMes(contribuicao.veiculoId(), mes), parcelaDoMes, Totais::somarOuRemover);
+            });
+        }
+    }
+
+    private final class Reconstrucao extends RecursiveTask<Agregados> {
+
+        private final List<Long> veiculoIds;
+        private final Map<Long, String> marcas;
+
+        private Reconstrucao(List<Long> veiculoIds, Map<Long, String> marcas) {
+            this.veiculoIds = veiculoIds;
+            this.marcas = marcas;
+        }
+
+        @Override
+        protected Agregados compute() {
+
+            if (this.veiculoIds.size() <= VEICULOS_POR_TAREFA) {
+                var parcial = new Agregados(this.marcas);
+                if (!this.veiculoIds.isEmpty()) {
+                    aluguelRepository.findAllByVeiculoIds(this.veiculoIds).forEach(parcial::adicionar);
+                }
+                return parcial;
+            }
+            var meio = this.veiculoIds.size() / 2;
+            var esquerda = new Reconstrucao(this.veiculoIds.subList(0, meio), this.marcas);
+            esquerda.fork();
+            var direita = new Reconstrucao(this.veiculoIds.subList(meio, this.veiculoIds.size()), this.marcas).compute();
+            return esquerda.join().incorporar(direita);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.fiap.locatech.locatech.indexes;
+
+import br.com.fiap.locatech.locatech.dtos.VeiculoFiltroDTO;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de bitmaps comprimidos (Roaring) sobre os atributos dos veículos, para filtros combinados sem
+ * consultar o banco.
+ * <p>
+ * Cada valor de marca, modelo e cor tem o bitmap dos ids dos veículos com aquele valor, comparados sem
+ * diferenciar maiúsculas. Ano e diária ficam em mapas ordenados por valor, e um intervalo é a união dos
+ * bitmaps do trecho. Vários valores de um mesmo atributo são unidos e os atributos são intersectados,
+ * começando pelo menor bitmap. Os ids precisam caber em um {@code int}.
+ */
+@Component
+public class VeiculoFiltroIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VeiculoFiltroIndex.class);
+
+    private final VeiculoRepository veiculoRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap todos = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> porMarca = new HashMap<>();
+    private final Map<String, RoaringBitmap> porModelo = new HashMap<>();
+    private final Map<String, RoaringBitmap> porCor = new HashMap<>();
+    private final NavigableMap<Integer, RoaringBitmap> porAno = new TreeMap<>();
+    private final NavigableMap<BigDecimal, RoaringBitmap> porValorDiaria = new TreeMap<>();
+    private final Map<Integer, Atributos> atributos = new HashMap<>();
+
+    public VeiculoFiltroIndex(VeiculoRepository veiculoRepository) {
+        this.veiculoRepository = veiculoRepository;
+    }
+
+    @PostConstruct
+    public void carregar() {
+
+        this.veiculoRepository.exportAll(this::adicionar);
+        logger.info("Índice de filtro de veículos carregado: {} veículos", this.todos.getCardinality());
+    }
+
+    /**
+     * Devolve, em ordem crescente, até {@code quantidade} ids maiores que {@code depoisDe} que atendem ao filtro.
+     */
+    public List<Long> filtrar(VeiculoFiltroDTO filtro, long depoisDe, int quantidade) {
+
+        this.lock.readLock().lock();
+        try {
+            List<RoaringBitmap> criterios = new ArrayList<>();
+            this.valores(criterios, this.porMarca, filtro.marca());
+            this.valores(criterios, this.porModelo, filtro.modelo());
+            this.valores(criterios, this.porCor, filtro.cor());
+            if (filtro.anoMin() != null || filtro.anoMax() != null) {
+                criterios.add(intervalo(this.porAno, filtro.anoMin(), filtro.anoMax()));
+            }
+            if (filtro.valorMin() != null || filtro.valorMax() != null) {
+                criterios.add(intervalo(this.porValorDiaria, filtro.valorMin(), filtro.valorMax()));
+            }
+
+            RoaringBitmap resultado;
+            if (criterios.isEmpty()) {
+                resultado = this.todos;
+            } else {
+                criterios.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+                resultado = FastAggregation.and(criterios.toArray(RoaringBitmap[]::new));
+            }
+
+            List<Long> ids = new ArrayList<>(quantidade);
+            if (depoisDe >= Integer.MAX_VALUE) {
+                return ids;
+            }
+            var iterator = resultado.getIntIterator();
+            iterator.advanceIfNeeded((int) Math.max(depoisDe + 1, 0));
+            while (iterator.hasNext() && ids.size() < quantidade) {
+                ids.add((long) iterator.next());
+            }
+            return ids;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui o veículo ou substitui os atributos que ele tinha no índice. As gravações chegam aqui depois do
+     * commit e sem ordem entre si, então uma versão mais antiga que a indexada é ignorada.
+     */
+    public void adicionar(Veiculo veiculo) {
+
+        var id = Math.toIntExact(veiculo.getId());
+        var novos = new Atributos(normalizar(veiculo.getMarca()), normalizar(veiculo.getModelo()),
+                normalizar(veiculo.getCor()), veiculo.getAno(), veiculo.getValorDiaria(), veiculo.getVersao());
+        this.lock.writeLock().lock();
+        try {
+            var atuais = this.atributos.get(id);
+            if (atuais != null && atuais.maisNovaQue(novos)) {
+                return;
+            }
+            this.removerAtributos(id);
+            this.atributos.put(id, novos);
+            this.todos.add(id);
+            marcar(this.porMarca, novos.marca(), id);
+            marcar(this.porModelo, novos.modelo(), id);
+            marcar(this.porCor, novos.cor(), id);
+            marcar(this.porAno, novos.ano(), id);
+            marcar(this.porValorDiaria, novos.valorDiaria(), id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long veiculoId) {
+
+        this.lock.writeLock().lock();
+        try {
+            this.removerAtributos(Math.toIntExact(veiculoId));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void removerAtributos(int id) {
+
+        var anteriores = this.atributos.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+        this.todos.remove(id);
+        desmarcar(this.porMarca, anteriores.marca(), id);
+        desmarcar(this.porModelo, anteriores.modelo(), id);
+        desmarcar(this.porCor, anteriores.cor(), id);
+        desmarcar(this.porAno, anteriores.ano(), id);
+        desmarcar(this.porValorDiaria, anteriores.valorDiaria(), id);
+    }
+
+    private void valores(List<RoaringBitmap> criterios, Map<String, RoaringBitmap> indice, List<String> valores) {
+
+        if (valores == null || valores.isEmpty()) {
+            return;
+        }
+        var bitmaps = valores.stream()
+                .map(VeiculoFiltroIndex::normalizar)
+                .map(valor -> indice.getOrDefault(valor, new RoaringBitmap()))
+                .toArray(RoaringBitmap[]::new);
+        criterios.add(bitmaps.length == 1 ? bitmaps[0] : FastAggregation.or(bitmaps));
+    }
+
+    private static <K extends Comparable<K>> RoaringBitmap intervalo(NavigableMap<K, RoaringBitmap> indice, K minimo, K maximo) {
+
+        NavigableMap<K, RoaringBitmap> trecho = indice;
+        if (minimo != null) {
+            trecho = trecho.tailMap(minimo, true);
+        }
+        if (maximo != null) {
+            trecho = trecho.headMap(maximo, true);
+        }
+        return FastAggregation.or(trecho.values().iterator());
+    }
+
+    private static <K> void marcar(Map<K, RoaringBitmap> indice, K valor, int id) {
+
+        if (valor != null) {
+            indice.computeIfAbsent(valor, chave -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private static <K> void desmarcar(Map<K, RoaringBitmap> indice, K valor, int id) {
+
+        if (valor != null) {
+            indice.computeIfPresent(valor, (chave, bitmap) -> {
+                bitmap.remove(id);
+                return bitmap.isEmpty() ? null : bitmap;
+            });
+        }
+    }
+
+    private static String normalizar(String valor) {
+        return valor == null ? null : valor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Atributos(String marca, String modelo, String cor, Integer ano, BigDecimal valorDiaria, Long versao) {
+
+        boolean maisNovaQue(Atributos outros) {
+            return this.versao != null && outros.versao != null && this.versao > outros.versao;
+        }
+    }
+}
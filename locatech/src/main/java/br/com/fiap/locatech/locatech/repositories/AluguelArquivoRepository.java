@@ -0,0 +1,12 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AluguelArquivoRepository {
+
+    List<Long> findArquivaveis(LocalDate corte, int limite);
+
+    int arquivar(Collection<Long> alugueisIds);
+}
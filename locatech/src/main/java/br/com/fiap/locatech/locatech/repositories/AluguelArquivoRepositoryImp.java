@@ -0,0 +1,85 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Move alugueis encerrados de {@code alugueis} para {@code alugueis_arquivo}, lido por {@link AluguelRepositoryImp}.
+ * <p>
+ * Selecionar, copiar e remover devem rodar na mesma transação, junto da remoção das linhas do modelo de
+ * leitura: o {@code FOR UPDATE} da seleção segura as alterações concorrentes dos mesmos alugueis até o commit.
+ * A cópia trava também as pessoas e os veículos, para que uma troca de nome ou modelo em andamento termine
+ * antes de os valores serem copiados para o arquivo.
+ */
+@Repository
+public class AluguelArquivoRepositoryImp implements AluguelArquivoRepository {
+
+    static final String SQL_FIND_ARQUIVAVEIS =
+            "SELECT id FROM alugueis WHERE data_fim < :corte LIMIT :limite FOR UPDATE";
+    static final String SQL_TRAVAR_PESSOAS =
+            "SELECT id FROM pessoas WHERE id IN (SELECT pessoa_id FROM alugueis WHERE id IN (:ids)) ORDER BY id FOR UPDATE";
+    static final String SQL_TRAVAR_VEICULOS =
+            "SELECT id FROM veiculos WHERE id IN (SELECT veiculo_id FROM alugueis WHERE id IN (:ids)) ORDER BY id FOR UPDATE";
+    static final String SQL_COPIAR =
+            "INSERT INTO alugueis_arquivo (id, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, " +
+                    "data_inicio, data_fim, valor_total, versao, arquivado_em) " +
+                    "SELECT a.id, a.pessoa_id, a.veiculo_id, v.modelo, p.cpf, p.nome, a.data_inicio, a.data_fim, " +
+                    "a.valor_total, a.versao, CURRENT_TIMESTAMP " +
+                    "FROM alugueis a " +
+                    "INNER JOIN pessoas p ON a.pessoa_id = p.id " +
+                    "INNER JOIN veiculos v ON a.veiculo_id = v.id " +
+                    "WHERE a.id IN (:ids)";
+    static final String SQL_REMOVER =
+            "DELETE FROM alugueis WHERE id IN (:ids)";
+
+    private final JdbcClient jdbcClient;
+
+    public AluguelArquivoRepositoryImp(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public List<Long> findArquivaveis(LocalDate corte, int limite) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ARQUIVAVEIS)
+                .param("corte", corte)
+                .param("limite", limite)
+                .query(Long.class)
+                .list();
+    }
+
+    /**
+     * Copia os alugueis para o arquivo e os remove de {@code alugueis}. Retorna a quantidade de alugueis movidos;
+     * se algum não puder ser copiado, nada é removido.
+     */
+    @Override
+    public int arquivar(Collection<Long> alugueisIds) {
+
+        if (alugueisIds.isEmpty()) {
+            return 0;
+        }
+        for (var sql : List.of(SQL_TRAVAR_PESSOAS, SQL_TRAVAR_VEICULOS)) {
+            this.jdbcClient
+                    .sql(sql)
+                    .param("ids", alugueisIds)
+                    .query(Long.class)
+                    .list();
+        }
+        var copiados = this.jdbcClient
+                .sql(SQL_COPIAR)
+                .param("ids", alugueisIds)
+                .update();
+        if (copiados != alugueisIds.size()) {
+            throw new IllegalStateException("Arquivamento copiou " + copiados + " de " + alugueisIds.size() + " alugueis");
+        }
+        return this.jdbcClient
+                .sql(SQL_REMOVER)
+                .param("ids", alugueisIds)
+                .update();
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import java.util.Collection;
+
+public interface AluguelLeituraRepository {
+
+    void atualizar(Collection<Long> alugueisIds);
+
+    void remover(Long aluguelId);
+
+    void remover(Collection<Long> alugueisIds);
+
+    int atualizarPessoa(Long pessoaId, String nome, String cpf);
+
+    int atualizarVeiculo(Long veiculoId, String modelo);
+
+    int reconstruir();
+}
@@ -0,0 +1,152 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gravações do modelo de leitura {@code alugueis_leitura}, lido por {@link AluguelRepositoryImp}.
+ * <p>
+ * As linhas são montadas a partir de {@code alugueis}, {@code pessoas} e {@code veiculos} pelo próprio banco,
+ * então devem ser atualizadas na mesma transação da gravação que as originou. As trocas de nome, CPF e modelo
+ * também chegam aos alugueis de {@code alugueis_arquivo}, que guardam os mesmos campos de exibição.
+ * <p>
+ * {@link #atualizar} trava antes as linhas da pessoa e do veículo, como o {@code UPDATE} de uma troca de nome
+ * ou modelo: sem isso, um aluguel gravado durante a troca copiaria o valor antigo, e o {@code UPDATE} da troca
+ * não enxergaria a linha ainda não confirmada.
+ */
+@Repository
+public class AluguelLeituraRepositoryImp implements AluguelLeituraRepository {
+
+    private static final String SELECT_JUNCAO =
+            "SELECT a.id, a.pessoa_id, a.veiculo_id, v.modelo, p.cpf, p.nome, a.data_inicio, a.data_fim, a.valor_total, a.versao " +
+                    "FROM alugueis a " +
+                    "INNER JOIN pessoas p ON a.pessoa_id = p.id " +
+                    "INNER JOIN veiculos v ON a.veiculo_id = v.id ";
+
+    static final String SQL_TRAVAR_PESSOAS =
+            "SELECT id FROM pessoas WHERE id IN (SELECT pessoa_id FROM alugueis WHERE id IN (:ids)) ORDER BY id FOR UPDATE";
+    static final String SQL_TRAVAR_VEICULOS =
+            "SELECT id FROM veiculos WHERE id IN (SELECT veiculo_id FROM alugueis WHERE id IN (:ids)) ORDER BY id FOR UPDATE";
+    static final String SQL_ATUALIZAR =
+            "MERGE INTO alugueis_leitura (id, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, " +
+                    "data_inicio, data_fim, valor_total, versao) KEY (id) " +
+                    SELECT_JUNCAO + "WHERE a.id IN (:ids)";
+    static final String SQL_REMOVER =
+            "DELETE FROM alugueis_leitura WHERE id = :id";
+    static final String SQL_REMOVER_VARIOS =
+            "DELETE FROM alugueis_leitura WHERE id IN (:ids)";
+    static final String SQL_ATUALIZAR_PESSOA =
+            "UPDATE alugueis_leitura SET pessoa_nome = :nome, pessoa_cpf = :cpf " +
+                    "WHERE pessoa_id = :pessoa_id AND (pessoa_nome IS DISTINCT FROM :nome OR pessoa_cpf IS DISTINCT FROM :cpf)";
+    static final String SQL_ATUALIZAR_VEICULO =
+            "UPDATE alugueis_leitura SET veiculo_modelo = :modelo " +
+                    "WHERE veiculo_id = :veiculo_id AND veiculo_modelo IS DISTINCT FROM :modelo";
+    static final String SQL_ATUALIZAR_PESSOA_ARQUIVO =
+            "UPDATE alugueis_arquivo SET pessoa_nome = :nome, pessoa_cpf = :cpf " +
+                    "WHERE pessoa_id = :pessoa_id AND (pessoa_nome IS DISTINCT FROM :nome OR pessoa_cpf IS DISTINCT FROM :cpf)";
+    static final String SQL_ATUALIZAR_VEICULO_ARQUIVO =
+            "UPDATE alugueis_arquivo SET veiculo_modelo = :modelo " +
+                    "WHERE veiculo_id = :veiculo_id AND veiculo_modelo IS DISTINCT FROM :modelo";
+    static final String SQL_LIMPAR =
+            "DELETE FROM alugueis_leitura";
+    static final String SQL_RECONSTRUIR =
+            "INSERT INTO alugueis_leitura (id, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, " +
+                    "data_inicio, data_fim, valor_total, versao) " +
+                    SELECT_JUNCAO;
+
+    private final JdbcClient jdbcClient;
+
+    public AluguelLeituraRepositoryImp(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Inclui ou regrava as linhas dos alugueis informados com os dados atuais do banco.
+     */
+    @Override
+    public void atualizar(Collection<Long> alugueisIds) {
+
+        if (alugueisIds.isEmpty()) {
+            return;
+        }
+        for (var sql : List.of(SQL_TRAVAR_PESSOAS, SQL_TRAVAR_VEICULOS)) {
+            this.jdbcClient
+                    .sql(sql)
+                    .param("ids", alugueisIds)
+                    .query(Long.class)
+                    .list();
+        }
+        this.jdbcClient
+                .sql(SQL_ATUALIZAR)
+                .param("ids", alugueisIds)
+                .update();
+    }
+
+    @Override
+    public void remover(Long aluguelId) {
+
+        this.jdbcClient
+                .sql(SQL_REMOVER)
+                .param("id", aluguelId)
+                .update();
+    }
+
+    @Override
+    public void remover(Collection<Long> alugueisIds) {
+
+        if (alugueisIds.isEmpty()) {
+            return;
+        }
+        this.jdbcClient
+                .sql(SQL_REMOVER_VARIOS)
+                .param("ids", alugueisIds)
+                .update();
+    }
+
+    /**
+     * Copia o nome e o CPF da pessoa para os alugueis dela, ativos e arquivados. Retorna a quantidade de linhas
+     * alteradas, 0 quando nada mudou.
+     */
+    @Override
+    public int atualizarPessoa(Long pessoaId, String nome, String cpf) {
+
+        var alteradas = 0;
+        for (var sql : List.of(SQL_ATUALIZAR_PESSOA, SQL_ATUALIZAR_PESSOA_ARQUIVO)) {
+            alteradas += this.jdbcClient
+                    .sql(sql)
+                    .param("pessoa_id", pessoaId)
+                    .param("nome", nome)
+                    .param("cpf", cpf)
+                    .update();
+        }
+        return alteradas;
+    }
+
+    @Override
+    public int atualizarVeiculo(Long veiculoId, String modelo) {
+
+        var alteradas = 0;
+        for (var sql : List.of(SQL_ATUALIZAR_VEICULO, SQL_ATUALIZAR_VEICULO_ARQUIVO)) {
+            alteradas += this.jdbcClient
+                    .sql(sql)
+                    .param("veiculo_id", veiculoId)
+                    .param("modelo", modelo)
+                    .update();
+        }
+        return alteradas;
+    }
+
+    /**
+     * Apaga e remonta o modelo de leitura inteiro a partir das tabelas de origem. Retorna a quantidade de
+     * alugueis gravados.
+     */
+    @Override
+    public int reconstruir() {
+
+        this.jdbcClient.sql(SQL_LIMPAR).update();
+        return this.jdbcClient.sql(SQL_RECONSTRUIR).update();
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface AluguelRepository {
+
+    Optional<Aluguel> findById(Long id);
+
+    Optional<Aluguel> findById(Long id, Collection<String> campos);
+
+    List<Aluguel> findAll(int size, int offset);
+
+    List<Aluguel> findAll(int size, int offset, Collection<String> campos);
+
+    List<Aluguel> findAllAfter(Long id, int size);
+
+    List<Aluguel> findAllAfter(Long id, int size, Collection<String> campos);
+
+    Optional<Aluguel> findArquivadoById(Long id);
+
+    Optional<Aluguel> findArquivadoById(Long id, Collection<String> campos);
+
+    List<Aluguel> findAllComArquivados(int size, int offset);
+
+    List<Aluguel> findAllComArquivados(int size, int offset, Collection<String> campos);
+
+    List<Aluguel> findAllAfterComArquivados(Long id, int size);
+
+    List<Aluguel> findAllAfterComArquivados(Long id, int size, Collection<String> campos);
+
+    List<Aluguel> findAllPeriodos();
+
+    List<Aluguel> findAllByVeiculoIds(Collection<Long> veiculoIds);
+
+    void exportAll(Consumer<Aluguel> consumer);
+
+    Integer save(Aluguel aluguel);
+
+    Integer saveCalculandoValor(Aluguel aluguel);
+
+    int[] saveAllCalculandoValor(List<Aluguel> alugueis);
+
+    int[] saveAll(List<Aluguel> alugueis);
+
+    Integer update(Aluguel aluguel, Long id, Long versao);
+
+    Integer delete(Long id, Long versao);
+}
\ No newline at end of file
@@ -0,0 +1,420 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.entities.AluguelRowMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Repository
+public class AluguelRepositoryImp implements AluguelRepository {
+
+    // listagens e detalhes vêm do modelo de leitura, que já traz os campos de pessoas e veiculos
+    private static final Projecao<Aluguel> PROJECAO = new Projecao<>(Aluguel::new, Set.of("id", "versao"), AluguelRowMapper.campos("a."));
+
+    private static final String FROM_LEITURA = "FROM alugueis_leitura a ";
+    // alugueis arquivados: mesmas colunas do modelo de leitura
+    private static final String FROM_ARQUIVO = "FROM alugueis_arquivo a ";
+    private static final String POR_ID = "WHERE a.id = :id";
+    private static final String PAGINA = "LIMIT :size OFFSET :offset";
+    private static final String PAGINA_APOS = "WHERE a.id > :id ORDER BY a.id LIMIT :size";
+
+    private static final String SELECT_ALUGUEL =
+            "SELECT " + AluguelRowMapper.COLUNAS + " " + FROM_LEITURA;
+
+    static final String SQL_FIND_BY_ID =
+            SELECT_ALUGUEL + POR_ID;
+    static final String SQL_FIND_ALL =
+            SELECT_ALUGUEL + PAGINA;
+    static final String SQL_FIND_ALL_AFTER =
+            SELECT_ALUGUEL + PAGINA_APOS;
+    static final String SQL_FIND_ARQUIVADO_BY_ID =
+            "SELECT " + AluguelRowMapper.COLUNAS + " " + FROM_ARQUIVO + POR_ID;
+    static final String SQL_FIND_ALL_COM_ARQUIVADOS =
+            comArquivados(AluguelRowMapper.COLUNAS);
+    static final String SQL_FIND_ALL_AFTER_COM_ARQUIVADOS =
+            comArquivadosApos(AluguelRowMapper.COLUNAS);
+    // os arquivados ficam fora do índice de disponibilidade: terminaram antes do corte, e nenhuma reserva nova
+    // pode começar antes dele
+    static final String SQL_FIND_ALL_PERIODOS =
+            "SELECT id, veiculo_id, data_inicio, data_fim FROM alugueis";
+    // os relatórios continuam contando a receita dos alugueis arquivados
+    static final String SQL_FIND_ALL_BY_VEICULO_IDS =
+            "SELECT id, veiculo_id, data_inicio, data_fim, valor_total FROM alugueis WHERE veiculo_id IN (:veiculo_ids) " +
+                    "UNION ALL SELECT id, veiculo_id, data_inicio, data_fim, valor_total FROM alugueis_arquivo WHERE veiculo_id IN (:veiculo_ids)";
+    static final String SQL_EXPORT_ALL =
+            SELECT_ALUGUEL + "ORDER BY a.id";
+    static final String SQL_INSERT =
+            "INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) " +
+                    "VALUES (:pessoa_id, :veiculo_id, :data_inicio, :data_fim, :valor_total)";
+    static final String SQL_INSERT_CALCULANDO_VALOR =
+            "INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) " +
+                    "SELECT CAST(:pessoa_id AS BIGINT), v.id, CAST(:data_inicio AS DATE), CAST(:data_fim AS DATE), " +
+                    "v.valor_diaria * DATEDIFF('DAY', CAST(:data_inicio AS DATE), CAST(:data_fim AS DATE)) " +
+                    "FROM veiculos v WHERE v.id = :veiculo_id";
+    static final String SQL_UPDATE =
+            "UPDATE alugueis SET pessoa_id = :pessoa_id, veiculo_id = :veiculo_id, " +
+                    "data_inicio = :data_inicio, data_fim = :data_fim, valor_total = :valor_total, versao = versao + 1 " +
+                    "WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+    static final String SQL_DELETE =
+            "DELETE FROM alugueis WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int exportFetchSize;
+
+    public AluguelRepositoryImp(
+            JdbcClient jdbcClient,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            @Value("${locatech.export.fetch-size:1000}") int exportFetchSize
+    ) {
+        this.jdbcClient = jdbcClient;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Optional<Aluguel> findById(Long id) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_BY_ID)
+                .param("id", id)
+                .query(AluguelRowMapper.INSTANCE)
+                .optional();
+    }
+
+    @Override
+    public Optional<Aluguel> findById(Long id, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql(select(selecao) + POR_ID)
+                .param("id", id)
+                .query(selecao.rowMapper())
+                .optional();
+    }
+
+    @Override
+    public List<Aluguel> findAll(int size, int offset) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL)
+                .param("size", size)
+                .param("offset", offset)
+                .query(AluguelRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAll(int size, int offset, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql(select(selecao) + PAGINA)
+                .param("size", size)
+                .param("offset", offset)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllAfter(Long id, int size) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_AFTER)
+                .param("id", id)
+                .param("size", size)
+                .query(AluguelRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllAfter(Long id, int size, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql(select(selecao) + PAGINA_APOS)
+                .param("id", id)
+                .param("size", size)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public Optional<Aluguel> findArquivadoById(Long id) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ARQUIVADO_BY_ID)
+                .param("id", id)
+                .query(AluguelRowMapper.INSTANCE)
+                .optional();
+    }
+
+    @Override
+    public Optional<Aluguel> findArquivadoById(Long id, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + " " + FROM_ARQUIVO + POR_ID)
+                .param("id", id)
+                .query(selecao.rowMapper())
+                .optional();
+    }
+
+    @Override
+    public List<Aluguel> findAllComArquivados(int size, int offset) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_COM_ARQUIVADOS)
+                .param("size", size)
+                .param("offset", offset)
+                .query(AluguelRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllComArquivados(int size, int offset, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql(comArquivados(selecao.colunas()))
+                .param("size", size)
+                .param("offset", offset)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllAfterComArquivados(Long id, int size) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_AFTER_COM_ARQUIVADOS)
+                .param("id", id)
+                .param("size", size)
+                .query(AluguelRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllAfterComArquivados(Long id, int size, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql(comArquivadosApos(selecao.colunas()))
+                .param("id", id)
+                .param("size", size)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllPeriodos() {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_PERIODOS)
+                .query((rs, rowNum) -> {
+                    var aluguel = new Aluguel();
+                    aluguel.setId(rs.getLong(1));
+                    aluguel.setVeiculoId(rs.getLong(2));
+                    aluguel.setDataInicio(rs.getObject(3, LocalDate.class));
+                    aluguel.setDataFim(rs.getObject(4, LocalDate.class));
+                    return aluguel;
+                })
+                .list();
+    }
+
+    @Override
+    public List<Aluguel> findAllByVeiculoIds(Collection<Long> veiculoIds) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_BY_VEICULO_IDS)
+                .param("veiculo_ids", veiculoIds)
+                .query((rs, rowNum) -> {
+                    var aluguel = new Aluguel();
+                    aluguel.setId(rs.getLong(1));
+                    aluguel.setVeiculoId(rs.getLong(2));
+                    aluguel.setDataInicio(rs.getObject(3, LocalDate.class));
+                    aluguel.setDataFim(rs.getObject(4, LocalDate.class));
+                    aluguel.setValorTotal(rs.getBigDecimal(5));
+                    return aluguel;
+                })
+                .list();
+    }
+
+    @Override
+    public void exportAll(Consumer<Aluguel> consumer) {
+
+        this.namedParameterJdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            SQL_EXPORT_ALL,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(this.exportFetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(AluguelRowMapper.INSTANCE.mapRow(resultSet, resultSet.getRow()))
+        );
+    }
+
+    @Override
+    public Integer save(Aluguel aluguel) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var save = this.jdbcClient
+                .sql(SQL_INSERT)
+                .param("pessoa_id", aluguel.getPessoaId())
+                .param("veiculo_id", aluguel.getVeiculoId())
+                .param("data_inicio", aluguel.getDataInicio())
+                .param("data_fim", aluguel.getDataFim())
+                .param("valor_total", aluguel.getValorTotal())
+                .update(keyHolder, "id");
+        aluguel.setId(keyHolder.getKeyAs(Long.class));
+        aluguel.setVersao(0L);
+        return save;
+    }
+
+    /**
+     * Grava o aluguel com o valor total calculado pelo próprio banco a partir da diária do veículo, em um único
+     * {@code INSERT ... SELECT}. Preenche o id e o valor total no aluguel. Retorna 0 quando o veículo não existe;
+     * uma pessoa inexistente viola a chave estrangeira.
+     */
+    @Override
+    public Integer saveCalculandoValor(Aluguel aluguel) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var save = this.jdbcClient
+                .sql(SQL_INSERT_CALCULANDO_VALOR)
+                .param("pessoa_id", aluguel.getPessoaId())
+                .param("veiculo_id", aluguel.getVeiculoId())
+                .param("data_inicio", aluguel.getDataInicio())
+                .param("data_fim", aluguel.getDataFim())
+                .update(keyHolder, "id", "valor_total");
+        if (save == 1) {
+            var keys = keyHolder.getKeys();
+            aluguel.setId(((Number) keys.get("id")).longValue());
+            aluguel.setValorTotal((BigDecimal) keys.get("valor_total"));
+            aluguel.setVersao(0L);
+        }
+        return save;
+    }
+
+    /**
+     * Versão em lote de {@link #saveCalculandoValor}, em um único {@code batchUpdate}. Itens com veículo
+     * inexistente ficam com 0 no retorno e sem id.
+     */
+    @Override
+    public int[] saveAllCalculandoValor(List<Aluguel> alugueis) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var batchArgs = alugueis.stream()
+                .map(AluguelRepositoryImp::parametros)
+                .toArray(SqlParameterSource[]::new);
+        var save = this.namedParameterJdbcTemplate.batchUpdate(
+                SQL_INSERT_CALCULANDO_VALOR, batchArgs, keyHolder, new String[]{"id", "valor_total"});
+        // só as linhas inseridas geram chaves, na ordem do lote
+        var keys = keyHolder.getKeyList().iterator();
+        for (int i = 0; i < save.length; i++) {
+            if (save[i] == 1) {
+                var key = keys.next();
+                var aluguel = alugueis.get(i);
+                aluguel.setId(((Number) key.get("id")).longValue());
+                aluguel.setValorTotal((BigDecimal) key.get("valor_total"));
+                aluguel.setVersao(0L);
+            }
+        }
+        return save;
+    }
+
+    @Override
+    public int[] saveAll(List<Aluguel> alugueis) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var batchArgs = alugueis.stream()
+                .map(AluguelRepositoryImp::parametros)
+                .toArray(SqlParameterSource[]::new);
+        var save = this.namedParameterJdbcTemplate.batchUpdate(
+                SQL_INSERT, batchArgs, keyHolder, new String[]{"id"});
+        var keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size(); i++) {
+            alugueis.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            alugueis.get(i).setVersao(0L);
+        }
+        return save;
+    }
+
+    @Override
+    public Integer update(Aluguel aluguel, Long id, Long versao) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var update = this.jdbcClient
+                .sql(SQL_UPDATE)
+                .param("id", id)
+                .param("versao", versao)
+                .param("pessoa_id", aluguel.getPessoaId())
+                .param("veiculo_id", aluguel.getVeiculoId())
+                .param("data_inicio", aluguel.getDataInicio())
+                .param("data_fim", aluguel.getDataFim())
+                .param("valor_total", aluguel.getValorTotal())
+                .update(keyHolder, "versao");
+        if (update == 1) {
+            aluguel.setVersao(keyHolder.getKeyAs(Long.class));
+        }
+        return update;
+    }
+
+    @Override
+    public Integer delete(Long id, Long versao) {
+
+        return this.jdbcClient
+                .sql(SQL_DELETE)
+                .param("id", id)
+                .param("versao", versao)
+                .update();
+    }
+
+    private static String select(Projecao.Selecao<Aluguel> selecao) {
+
+        return "SELECT " + selecao.colunas() + " " + FROM_LEITURA;
+    }
+
+    // ordenado por id para que as páginas das duas tabelas não se repitam nem se percam
+    private static String comArquivados(String colunas) {
+
+        return "SELECT " + colunas + " " + FROM_LEITURA +
+                "UNION ALL SELECT " + colunas + " " + FROM_ARQUIVO +
+                "ORDER BY id " + PAGINA;
+    }
+
+    // cada tabela devolve no máximo uma página a partir do cursor, e a união fica com os menores ids
+    private static String comArquivadosApos(String colunas) {
+
+        return "(SELECT " + colunas + " " + FROM_LEITURA + PAGINA_APOS + ") " +
+                "UNION ALL (SELECT " + colunas + " " + FROM_ARQUIVO + PAGINA_APOS + ") " +
+                "ORDER BY id LIMIT :size";
+    }
+
+    private static SqlParameterSource parametros(Aluguel aluguel) {
+
+        return new MapSqlParameterSource()
+                .addValue("pessoa_id", aluguel.getPessoaId())
+                .addValue("veiculo_id", aluguel.getVeiculoId())
+                .addValue("data_inicio", aluguel.getDataInicio())
+                .addValue("data_fim", aluguel.getDataFim())
+                .addValue("valor_total", aluguel.getValorTotal());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.config.RoteamentoDataSource;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de leitura limitado por tamanho na frente do {@link VeiculoRepositoryImp}.
+ * <p>
+ * A evicção é feita pelo Caffeine (W-TinyLFU), que considera a frequência de acesso e não apenas a
+ * recência. Escritas vão ao banco fora da trava da chave e invalidam a chave depois: o Caffeine espera uma
+ * carga em andamento da mesma chave antes de invalidar, então um valor antigo lido durante a escrita não
+ * sobrevive a ela.
+ * <p>
+ * Dentro de uma transação, a linha alterada só fica visível no commit: uma leitura entre a escrita e o
+ * commit ainda carrega o valor antigo. Por isso a chave é invalidada de novo quando a transação termina.
+ */
+@Repository
+@Primary
+public class CachingVeiculoRepository implements VeiculoRepository {
+
+    private final VeiculoRepository delegate;
+    private final Cache<Long, Veiculo> cache;
+
+    public CachingVeiculoRepository(
+            VeiculoRepositoryImp delegate,
+            @Value("${locatech.cache.veiculos.tamanho-maximo:10000}") long tamanhoMaximo
+    ) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build();
+    }
+
+    // a carga do cache lê do primário: um valor atrasado da réplica ficaria no cache até a próxima escrita
+    @Override
+    public Optional<Veiculo> findById(Long id) {
+        return Optional.ofNullable(this.cache.get(id,
+                chave -> RoteamentoDataSource.noPrimario(() -> this.delegate.findById(chave).orElse(null))));
+    }
+
+    @Override
+    public Optional<Veiculo> findById(Long id, Collection<String> campos) {
+        return this.delegate.findById(id, campos);
+    }
+
+    @Override
+    public List<Veiculo> findAll(int size, int offset) {
+        return this.delegate.findAll(size, offset);
+    }
+
+    @Override
+    public List<Veiculo> findAll(int size, int offset, Collection<String> campos) {
+        return this.delegate.findAll(size, offset, campos);
+    }
+
+    @Override
+    public List<Veiculo> findAllAfter(Long id, int size) {
+        return this.delegate.findAllAfter(id, size);
+    }
+
+    @Override
+    public List<Veiculo> findAllAfter(Long id, int size, Collection<String> campos) {
+        return this.delegate.findAllAfter(id, size, campos);
+    }
+
+    @Override
+    public List<Veiculo> findAllByIds(Collection<Long> ids) {
+
+        var veiculos = this.cache.getAll(ids, faltantes -> this.delegate.findAllByIds(new ArrayList<>(faltantes))
+                .stream()
+                .collect(Collectors.toMap(Veiculo::getId, Function.identity())));
+        return veiculos.values().stream()
+                .sorted(Comparator.comparing(Veiculo::getId))
+                .toList();
+    }
+
+    @Override
+    public List<Long> findAllIds() {
+        return this.delegate.findAllIds();
+    }
+
+    @Override
+    public List<Veiculo> findAllMarcas() {
+        return this.delegate.findAllMarcas();
+    }
+
+    @Override
+    public void exportAll(Consumer<Veiculo> consumer) {
+        this.delegate.exportAll(consumer);
+    }
+
+    @Override
+    public Integer save(Veiculo veiculo) {
+        return this.delegate.save(veiculo);
+    }
+
+    @Override
+    public int[] saveAll(List<Veiculo> veiculos) {
+        return this.delegate.saveAll(veiculos);
+    }
+
+    @Override
+    public Integer update(Veiculo veiculo, Long id, Long versao) {
+
+        try {
+            return this.delegate.update(veiculo, id, versao);
+        } finally {
+            this.invalidar(id);
+        }
+    }
+
+    @Override
+    public Integer delete(Long id, Long versao) {
+
+        try {
+            return this.delegate.delete(id, versao);
+        } finally {
+            this.invalidar(id);
+        }
+    }
+
+    // fora de transação a escrita já foi confirmada quando a chave é invalidada
+    private void invalidar(Long id) {
+
+        this.cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    CachingVeiculoRepository.this.cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public Cache<Long, Veiculo> getCache() {
+        return this.cache;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface PessoaRepository {
+
+    Optional<Pessoa> findById(Long id);
+
+    Optional<Pessoa> findById(Long id, Collection<String> campos);
+
+    List<Pessoa> findAll(int size, int offset);
+
+    List<Pessoa> findAll(int size, int offset, Collection<String> campos);
+
+    List<Pessoa> findAllAfter(Long id, int size);
+
+    List<Pessoa> findAllAfter(Long id, int size, Collection<String> campos);
+
+    void exportAll(Consumer<Pessoa> consumer);
+
+    Integer save(Pessoa pessoa);
+
+    int[] saveAll(List<Pessoa> pessoas);
+
+    Integer update(Pessoa pessoa, Long id, Long versao);
+
+    Integer delete(Long id, Long versao);
+}
\ No newline at end of file
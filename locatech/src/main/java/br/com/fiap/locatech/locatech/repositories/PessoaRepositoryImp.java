@@ -0,0 +1,216 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.entities.PessoaRowMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Repository
+public class PessoaRepositoryImp implements PessoaRepository {
+
+    private static final Projecao<Pessoa> PROJECAO = new Projecao<>(Pessoa::new, Set.of("id", "versao"), PessoaRowMapper.campos(""));
+
+    private static final String POR_ID = " FROM pessoas WHERE id = :id";
+    private static final String PAGINA = " FROM pessoas LIMIT :size OFFSET :offset";
+    private static final String PAGINA_APOS = " FROM pessoas WHERE id > :id ORDER BY id LIMIT :size";
+
+    static final String SQL_FIND_BY_ID =
+            "SELECT " + PessoaRowMapper.COLUNAS + POR_ID;
+    static final String SQL_FIND_ALL =
+            "SELECT " + PessoaRowMapper.COLUNAS + PAGINA;
+    static final String SQL_FIND_ALL_AFTER =
+            "SELECT " + PessoaRowMapper.COLUNAS + PAGINA_APOS;
+    static final String SQL_EXPORT_ALL =
+            "SELECT " + PessoaRowMapper.COLUNAS + " FROM pessoas ORDER BY id";
+    static final String SQL_INSERT =
+            "INSERT INTO pessoas (nome, cpf, rg, telefone, email) VALUES (:nome, :cpf, :rg, :telefone, :email)";
+    static final String SQL_UPDATE =
+            "UPDATE pessoas SET nome = :nome, cpf = :cpf, rg = :rg, telefone = :telefone, email = :email, " +
+                    "versao = versao + 1 WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+    static final String SQL_DELETE =
+            "DELETE FROM pessoas WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int exportFetchSize;
+
+    public PessoaRepositoryImp(
+            JdbcClient jdbcClient,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            @Value("${locatech.export.fetch-size:1000}") int exportFetchSize
+    ) {
+        this.jdbcClient = jdbcClient;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Optional<Pessoa> findById(Long id) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_BY_ID)
+                .param("id", id)
+                .query(PessoaRowMapper.INSTANCE)
+                .optional();
+    }
+
+    @Override
+    public Optional<Pessoa> findById(Long id, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + POR_ID)
+                .param("id", id)
+                .query(selecao.rowMapper())
+                .optional();
+    }
+
+    @Override
+    public List<Pessoa> findAll(int size, int offset) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL)
+                .param("size", size)
+                .param("offset", offset)
+                .query(PessoaRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Pessoa> findAll(int size, int offset, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + PAGINA)
+                .param("size", size)
+                .param("offset", offset)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Pessoa> findAllAfter(Long id, int size) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_AFTER)
+                .param("id", id)
+                .param("size", size)
+                .query(PessoaRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Pessoa> findAllAfter(Long id, int size, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + PAGINA_APOS)
+                .param("id", id)
+                .param("size", size)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public void exportAll(Consumer<Pessoa> consumer) {
+
+        this.namedParameterJdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            SQL_EXPORT_ALL,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(this.exportFetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(PessoaRowMapper.INSTANCE.mapRow(resultSet, resultSet.getRow()))
+        );
+    }
+
+    @Override
+    public Integer save(Pessoa pessoa) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var save = this.jdbcClient
+                .sql(SQL_INSERT)
+                .param("nome", pessoa.getNome())
+                .param("cpf", pessoa.getCpf())
+                .param("rg", pessoa.getRg())
+                .param("telefone", pessoa.getTelefone())
+                .param("email", pessoa.getEmail())
+                .update(keyHolder, "id");
+        pessoa.setId(keyHolder.getKeyAs(Long.class));
+        pessoa.setVersao(0L);
+        return save;
+    }
+
+    @Override
+    public int[] saveAll(List<Pessoa> pessoas) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var batchArgs = pessoas.stream()
+                .map(PessoaRepositoryImp::parametros)
+                .toArray(SqlParameterSource[]::new);
+        var save = this.namedParameterJdbcTemplate.batchUpdate(
+                SQL_INSERT, batchArgs, keyHolder, new String[]{"id"});
+        var keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size(); i++) {
+            pessoas.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            pessoas.get(i).setVersao(0L);
+        }
+        return save;
+    }
+
+    @Override
+    public Integer update(Pessoa pessoa, Long id, Long versao) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var update = this.jdbcClient
+                .sql(SQL_UPDATE)
+                .param("id", id)
+                .param("versao", versao)
+                .param("nome", pessoa.getNome())
+                .param("cpf", pessoa.getCpf())
+                .param("rg", pessoa.getRg())
+                .param("telefone", pessoa.getTelefone())
+                .param("email", pessoa.getEmail())
+                .update(keyHolder, "versao");
+        if (update == 1) {
+            pessoa.setVersao(keyHolder.getKeyAs(Long.class));
+        }
+        return update;
+    }
+
+    @Override
+    public Integer delete(Long id, Long versao) {
+
+        return this.jdbcClient
+                .sql(SQL_DELETE)
+                .param("id", id)
+                .param("versao", versao)
+                .update();
+    }
+
+    private static SqlParameterSource parametros(Pessoa pessoa) {
+
+        return new MapSqlParameterSource()
+                .addValue("nome", pessoa.getNome())
+                .addValue("cpf", pessoa.getCpf())
+                .addValue("rg", pessoa.getRg())
+                .addValue("telefone", pessoa.getTelefone())
+                .addValue("email", pessoa.getEmail());
+    }
+}
\ No newline at end of file
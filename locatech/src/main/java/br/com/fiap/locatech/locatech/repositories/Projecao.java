@@ -0,0 +1,79 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de uma entidade que podem ser pedidos em {@code ?fields=}, com a coluna de cada um.
+ * <p>
+ * Uma seleção monta a lista do {@code SELECT} só com os campos pedidos, mais os obrigatórios (id e versão,
+ * usados no cursor e no ETag). Os campos que não foram pedidos ficam vazios na entidade. A lista de campos de
+ * cada entidade é gerada junto do seu {@code RowMapper}, em {@code <Entidade>RowMapper.campos(prefixo)}.
+ */
+public final class Projecao<T> {
+
+    private final Supplier<T> construtor;
+    private final Map<String, Campo<T>> campos = new LinkedHashMap<>();
+    private final Set<String> obrigatorios;
+
+    Projecao(Supplier<T> construtor, Set<String> obrigatorios, List<Campo<T>> campos) {
+
+        this.construtor = construtor;
+        this.obrigatorios = obrigatorios;
+        campos.forEach(campo -> this.campos.put(campo.nome(), campo));
+    }
+
+    Selecao<T> selecionar(Collection<String> nomes) {
+
+        Set<String> pedidos = new HashSet<>(this.obrigatorios);
+        for (var nome : nomes) {
+            var campo = nome.trim();
+            if (!this.campos.containsKey(campo)) {
+                throw new BadRequestException("Campo desconhecido em fields: " + campo);
+            }
+            pedidos.add(campo);
+        }
+        // na ordem de declaração, independente da ordem pedida
+        var selecionados = this.campos.values().stream()
+                .filter(campo -> pedidos.contains(campo.nome()))
+                .toList();
+        return new Selecao<>(this.construtor, selecionados);
+    }
+
+    public record Campo<T>(String nome, String coluna, Leitor<T> leitor) {
+    }
+
+    @FunctionalInterface
+    public interface Leitor<T> {
+        void ler(T entidade, ResultSet rs, int indice) throws SQLException;
+    }
+
+    record Selecao<T>(Supplier<T> construtor, List<Campo<T>> campos) {
+
+        String colunas() {
+            return this.campos.stream().map(Campo::coluna).collect(Collectors.joining(", "));
+        }
+
+        RowMapper<T> rowMapper() {
+
+            return (rs, rowNum) -> {
+                var entidade = this.construtor.get();
+                for (int i = 0; i < this.campos.size(); i++) {
+                    this.campos.get(i).leitor().ler(entidade, rs, i + 1);
+                }
+                return entidade;
+            };
+        }
+    }
+}
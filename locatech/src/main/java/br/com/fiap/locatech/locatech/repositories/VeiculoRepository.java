@@ -0,0 +1,39 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface VeiculoRepository {
+
+    Optional<Veiculo> findById(Long id);
+
+    Optional<Veiculo> findById(Long id, Collection<String> campos);
+
+    List<Veiculo> findAll(int size, int offset);
+
+    List<Veiculo> findAll(int size, int offset, Collection<String> campos);
+
+    List<Veiculo> findAllAfter(Long id, int size);
+
+    List<Veiculo> findAllAfter(Long id, int size, Collection<String> campos);
+
+    List<Veiculo> findAllByIds(Collection<Long> ids);
+
+    List<Long> findAllIds();
+
+    List<Veiculo> findAllMarcas();
+
+    void exportAll(Consumer<Veiculo> consumer);
+
+    Integer save(Veiculo veiculo);
+
+    int[] saveAll(List<Veiculo> veiculos);
+
+    Integer update(Veiculo veiculo, Long id, Long versao);
+
+    Integer delete(Long id, Long versao);
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.entities.VeiculoRowMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Repository
+public class VeiculoRepositoryImp implements VeiculoRepository {
+
+    private static final Projecao<Veiculo> PROJECAO = new Projecao<>(Veiculo::new, Set.of("id", "versao"), VeiculoRowMapper.campos(""));
+
+    // o que vem depois da lista de colunas, compartilhado com as consultas projetadas
+    private static final String POR_ID = " FROM veiculos WHERE id = :id";
+    private static final String PAGINA = " FROM veiculos LIMIT :size OFFSET :offset";
+    private static final String PAGINA_APOS = " FROM veiculos WHERE id > :id ORDER BY id LIMIT :size";
+
+    static final String SQL_FIND_BY_ID =
+            "SELECT " + VeiculoRowMapper.COLUNAS + POR_ID;
+    static final String SQL_FIND_ALL =
+            "SELECT " + VeiculoRowMapper.COLUNAS + PAGINA;
+    static final String SQL_FIND_ALL_AFTER =
+            "SELECT " + VeiculoRowMapper.COLUNAS + PAGINA_APOS;
+    static final String SQL_FIND_ALL_BY_IDS =
+            "SELECT " + VeiculoRowMapper.COLUNAS + " FROM veiculos WHERE id IN (:ids) ORDER BY id";
+    static final String SQL_FIND_ALL_IDS =
+            "SELECT id FROM veiculos";
+    static final String SQL_FIND_ALL_MARCAS =
+            "SELECT id, marca FROM veiculos";
+    static final String SQL_EXPORT_ALL =
+            "SELECT " + VeiculoRowMapper.COLUNAS + " FROM veiculos ORDER BY id";
+    static final String SQL_INSERT =
+            "INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                    "VALUES (:marca, :modelo, :placa, :ano, :cor, :valor_diaria)";
+    static final String SQL_UPDATE =
+            "UPDATE veiculos SET marca = :marca, modelo = :modelo, placa = :placa, ano = :ano, cor = :cor, " +
+                    "valor_diaria = :valor_diaria, versao = versao + 1 " +
+                    "WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+    static final String SQL_DELETE =
+            "DELETE FROM veiculos WHERE id = :id AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao)";
+
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int exportFetchSize;
+
+    public VeiculoRepositoryImp(
+            JdbcClient jdbcClient,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            @Value("${locatech.export.fetch-size:1000}") int exportFetchSize
+    ) {
+        this.jdbcClient = jdbcClient;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public Optional<Veiculo> findById(Long id) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_BY_ID)
+                .param("id", id)
+                .query(VeiculoRowMapper.INSTANCE)
+                .optional();
+    }
+
+    @Override
+    public Optional<Veiculo> findById(Long id, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + POR_ID)
+                .param("id", id)
+                .query(selecao.rowMapper())
+                .optional();
+    }
+
+    @Override
+    public List<Veiculo> findAll(int size, int offset) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL)
+                .param("size", size)
+                .param("offset", offset)
+                .query(VeiculoRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Veiculo> findAll(int size, int offset, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + PAGINA)
+                .param("size", size)
+                .param("offset", offset)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Veiculo> findAllAfter(Long id, int size) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_AFTER)
+                .param("id", id)
+                .param("size", size)
+                .query(VeiculoRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Veiculo> findAllAfter(Long id, int size, Collection<String> campos) {
+
+        var selecao = PROJECAO.selecionar(campos);
+        return this.jdbcClient
+                .sql("SELECT " + selecao.colunas() + PAGINA_APOS)
+                .param("id", id)
+                .param("size", size)
+                .query(selecao.rowMapper())
+                .list();
+    }
+
+    @Override
+    public List<Veiculo> findAllByIds(Collection<Long> ids) {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_BY_IDS)
+                .param("ids", ids)
+                .query(VeiculoRowMapper.INSTANCE)
+                .list();
+    }
+
+    @Override
+    public List<Long> findAllIds() {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_IDS)
+                .query(Long.class)
+                .list();
+    }
+
+    @Override
+    public List<Veiculo> findAllMarcas() {
+
+        return this.jdbcClient
+                .sql(SQL_FIND_ALL_MARCAS)
+                .query((rs, rowNum) -> {
+                    var veiculo = new Veiculo();
+                    veiculo.setId(rs.getLong(1));
+                    veiculo.setMarca(rs.getString(2));
+                    return veiculo;
+                })
+                .list();
+    }
+
+    @Override
+    public void exportAll(Consumer<Veiculo> consumer) {
+
+        this.namedParameterJdbcTemplate.getJdbcTemplate().query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            SQL_EXPORT_ALL,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(this.exportFetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(VeiculoRowMapper.INSTANCE.mapRow(resultSet, resultSet.getRow()))
+        );
+    }
+
+    @Override
+    public Integer save(Veiculo veiculo) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var save = this.jdbcClient
+                .sql(SQL_INSERT)
+                .param("marca", veiculo.getMarca())
+                .param("modelo", veiculo.getModelo())
+                .param("placa", veiculo.getPlaca())
+                .param("ano", veiculo.getAno())
+                .param("cor", veiculo.getCor())
+                .param("valor_diaria", veiculo.getValorDiaria())
+                .update(keyHolder, "id");
+        veiculo.setId(keyHolder.getKeyAs(Long.class));
+        veiculo.setVersao(0L);
+        return save;
+    }
+
+    @Override
+    public int[] saveAll(List<Veiculo> veiculos) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var batchArgs = veiculos.stream()
+                .map(VeiculoRepositoryImp::parametros)
+                .toArray(SqlParameterSource[]::new);
+        var save = this.namedParameterJdbcTemplate.batchUpdate(
+                SQL_INSERT, batchArgs, keyHolder, new String[]{"id"});
+        var keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size(); i++) {
+            veiculos.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            veiculos.get(i).setVersao(0L);
+        }
+        return save;
+    }
+
+    @Override
+    public Integer update(Veiculo veiculo, Long id, Long versao) {
+
+        var keyHolder = new GeneratedKeyHolder();
+        var update = this.jdbcClient
+                .sql(SQL_UPDATE)
+                .param("id", id)
+                .param("versao", versao)
+                .param("marca", veiculo.getMarca())
+                .param("modelo", veiculo.getModelo())
+                .param("placa", veiculo.getPlaca())
+                .param("ano", veiculo.getAno())
+                .param("cor", veiculo.getCor())
+                .param("valor_diaria", veiculo.getValorDiaria())
+                .update(keyHolder, "versao");
+        if (update == 1) {
+            veiculo.setVersao(keyHolder.getKeyAs(Long.class));
+        }
+        return update;
+    }
+
+    @Override
+    public Integer delete(Long id, Long versao) {
+
+        return this.jdbcClient
+                .sql(SQL_DELETE)
+                .param("id", id)
+                .param("versao", versao)
+                .update();
+    }
+
+    private static SqlParameterSource parametros(Veiculo veiculo) {
+
+        return new MapSqlParameterSource()
+                .addValue("marca", veiculo.getMarca())
+                .addValue("modelo", veiculo.getModelo())
+                .addValue("placa", veiculo.getPlaca())
+                .addValue("ano", veiculo.getAno())
+                .addValue("cor", veiculo.getCor())
+                .addValue("valor_diaria", veiculo.getValorDiaria());
+    }
+}
\ No newline at end of file
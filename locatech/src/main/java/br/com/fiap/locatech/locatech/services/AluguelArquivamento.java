@@ -0,0 +1,166 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.indexes.DisponibilidadeIndex;
+import br.com.fiap.locatech.locatech.repositories.AluguelArquivoRepository;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move para {@code alugueis_arquivo} os alugueis encerrados há mais de {@code retencao}, para que
+ * {@code alugueis} e {@code alugueis_leitura} guardem só os recentes.
+ * <p>
+ * Com {@code locatech.alugueis.arquivo.enabled=true}, uma thread dedicada roda {@link #arquivar()} a cada
+ * {@code intervalo}. Os alugueis saem em lotes de {@code tamanho-lote}, cada um em uma transação curta, com uma
+ * {@code pausa} entre os lotes: as travas das linhas duram só um lote e as requisições não ficam esperando por
+ * uma varredura inteira. Os alugueis movidos saem do {@link DisponibilidadeIndex}: como {@link #corte()}
+ * recusa reservas que comecem antes do corte, nenhuma reserva nova pode se sobrepor a eles. Um aluguel em
+ * andamento que começou antes do corte ainda pode ser alterado, desde que não comece mais cedo nem troque de
+ * veículo. Os relatórios continuam contando os arquivados.
+ */
+@Component
+public class AluguelArquivamento {
+
+    private static final Logger logger = LoggerFactory.getLogger(AluguelArquivamento.class);
+
+    private final AluguelArquivoRepository aluguelArquivoRepository;
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DisponibilidadeIndex disponibilidadeIndex;
+    private final boolean habilitado;
+    private final Period retencao;
+    private final int tamanhoLote;
+    private final Duration pausa;
+    private final Counter arquivados;
+    private final Timer lote;
+    private final ScheduledExecutorService agendador;
+    private volatile boolean encerrado;
+
+    public AluguelArquivamento(
+            AluguelArquivoRepository aluguelArquivoRepository,
+            AluguelLeituraRepository aluguelLeituraRepository,
+            TransactionTemplate transactionTemplate,
+            DisponibilidadeIndex disponibilidadeIndex,
+            MeterRegistry meterRegistry,
+            @Value("${locatech.alugueis.arquivo.enabled:false}") boolean habilitado,
+            @Value("${locatech.alugueis.arquivo.retencao:365d}") Period retencao,
+            @Value("${locatech.alugueis.arquivo.intervalo:1h}") Duration intervalo,
+            @Value("${locatech.alugueis.arquivo.tamanho-lote:500}") int tamanhoLote,
+            @Value("${locatech.alugueis.arquivo.pausa:200ms}") Duration pausa
+    ) {
+        this.aluguelArquivoRepository = aluguelArquivoRepository;
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.disponibilidadeIndex = disponibilidadeIndex;
+        this.habilitado = habilitado;
+        this.retencao = retencao;
+        this.tamanhoLote = Math.max(tamanhoLote, 1);
+        this.pausa = pausa;
+        this.arquivados = Counter.builder("locatech.alugueis.arquivo.arquivados")
+                .description("Alugueis movidos para o arquivo")
+                .baseUnit("alugueis")
+                .register(meterRegistry);
+        this.lote = Timer.builder("locatech.alugueis.arquivo.lote")
+                .description("Duração da transação de um lote do arquivamento")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (habilitado) {
+            this.agendador = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("aluguel-arquivamento").daemon().factory());
+            this.agendador.scheduleWithFixedDelay(this::executar, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Arquivamento de alugueis habilitado: encerrados há mais de {}, a cada {}, lotes de {}",
+                    retencao, intervalo, this.tamanhoLote);
+        } else {
+            this.agendador = null;
+        }
+    }
+
+    /**
+     * Arquiva, lote a lote, todos os alugueis encerrados antes do corte e retorna quantos foram movidos.
+     */
+    public int arquivar() {
+
+        var inicio = System.nanoTime();
+        var corte = this.calcularCorte();
+        var total = 0;
+        while (true) {
+            var inicioLote = System.nanoTime();
+            var ids = this.transactionTemplate.execute(status -> this.arquivarLote(corte));
+            this.lote.record(System.nanoTime() - inicioLote, TimeUnit.NANOSECONDS);
+            ids.forEach(this.disponibilidadeIndex::remover);
+            var movidos = ids.size();
+            total += movidos;
+            this.arquivados.increment(movidos);
+            if (movidos < this.tamanhoLote || this.encerrado) {
+                break;
+            }
+            try {
+                Thread.sleep(this.pausa);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Arquivamento de alugueis: {} encerrados antes de {} movidos em {} ms", total, corte,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+        return total;
+    }
+
+    /**
+     * Data antes da qual os alugueis podem estar arquivados, vazia com o arquivamento desligado. Reservas novas
+     * não podem começar antes dela.
+     */
+    public Optional<LocalDate> corte() {
+        return this.habilitado ? Optional.of(this.calcularCorte()) : Optional.empty();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        this.encerrado = true;
+        if (this.agendador != null) {
+            // sem interromper um lote em andamento: a rodada termina no fim do lote atual
+            this.agendador.shutdown();
+        }
+    }
+
+    private LocalDate calcularCorte() {
+        return LocalDate.now().minus(this.retencao);
+    }
+
+    private List<Long> arquivarLote(LocalDate corte) {
+
+        var ids = this.aluguelArquivoRepository.findArquivaveis(corte, this.tamanhoLote);
+        this.aluguelArquivoRepository.arquivar(ids);
+        this.aluguelLeituraRepository.remover(ids);
+        return ids;
+    }
+
+    // uma falha em uma rodada não cancela as próximas
+    private void executar() {
+
+        try {
+            this.arquivar();
+        } catch (RuntimeException e) {
+            logger.error("Falha no arquivamento de alugueis", e);
+        }
+    }
+}
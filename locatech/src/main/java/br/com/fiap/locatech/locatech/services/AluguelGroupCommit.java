@@ -0,0 +1,260 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.exceptions.ServiceUnavailableException;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Grava os alugueis de várias requisições simultâneas em uma única transação (group commit).
+ * <p>
+ * Com {@code locatech.alugueis.group-commit.enabled=true}, cada {@link #salvar} entra em uma fila e espera.
+ * Uma thread dedicada junta até {@code tamanho-maximo} pedidos, aguardando no máximo {@code espera-maxima}
+ * desde o primeiro, grava todos com um {@code batchUpdate} e só então libera os chamadores: quem recebe a
+ * resposta tem o aluguel confirmado no banco. Pedidos que chegam durante um commit formam o lote seguinte.
+ * Se o lote falhar, cada pedido é regravado sozinho, para que um item inválido não derrube os demais.
+ * Um pedido que não sai da fila em {@code tempo-limite}, ou que chega durante o encerramento, recebe
+ * {@link ServiceUnavailableException} sem ter sido gravado.
+ * <p>
+ * Desligado, {@link #salvar} grava na hora, em uma transação só do aluguel. Nos dois casos o modelo de
+ * leitura é atualizado na mesma transação do {@code INSERT}.
+ */
+@Component
+public class AluguelGroupCommit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AluguelGroupCommit.class);
+
+    private final AluguelRepository aluguelRepository;
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanhoMaximo;
+    private final long esperaMaximaNanos;
+    private final long tempoLimiteNanos;
+    private final BlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final DistributionSummary tamanhoLote;
+    private final Timer commit;
+    private final Timer espera;
+    private final Thread escritor;
+    private volatile boolean encerrado;
+
+    public AluguelGroupCommit(
+            AluguelRepository aluguelRepository,
+            AluguelLeituraRepository aluguelLeituraRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${locatech.alugueis.group-commit.enabled:false}") boolean habilitado,
+            @Value("${locatech.alugueis.group-commit.tamanho-maximo:64}") int tamanhoMaximo,
+            @Value("${locatech.alugueis.group-commit.espera-maxima:2ms}") Duration esperaMaxima,
+            @Value("${locatech.alugueis.group-commit.tempo-limite:5s}") Duration tempoLimite
+    ) {
+        this.aluguelRepository = aluguelRepository;
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanhoMaximo = Math.max(tamanhoMaximo, 1);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.tempoLimiteNanos = tempoLimite.toNanos();
+        this.tamanhoLote = DistributionSummary.builder("locatech.alugueis.group-commit.lote")
+                .description("Alugueis gravados por commit")
+                .baseUnit("alugueis")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.commit = Timer.builder("locatech.alugueis.group-commit.commit")
+                .description("Duração da gravação e do commit de um lote")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.espera = Timer.builder("locatech.alugueis.group-commit.espera")
+                .description("Tempo entre entrar na fila e ter o aluguel confirmado")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (habilitado) {
+            this.escritor = Thread.ofPlatform().name("aluguel-group-commit").daemon().start(this::executar);
+            logger.info("Group commit de alugueis habilitado: até {} por lote, espera máxima de {}", this.tamanhoMaximo, esperaMaxima);
+        } else {
+            this.escritor = null;
+        }
+    }
+
+    /**
+     * Grava o aluguel calculando o valor pelo banco, como {@code saveCalculandoValor}, e retorna a quantidade
+     * de linhas inseridas (0 quando o veículo não existe). Com o group commit, bloqueia até o lote ser confirmado.
+     */
+    public int salvar(Aluguel aluguel) {
+
+        if (!this.habilitado) {
+            return this.transactionTemplate.execute(status -> this.gravarUm(aluguel));
+        }
+        if (this.encerrado) {
+            throw new ServiceUnavailableException("Aplicação em encerramento, tente novamente");
+        }
+        var pedido = new Pedido(aluguel, new CompletableFuture<>(), System.nanoTime());
+        this.fila.add(pedido);
+        try {
+            return this.aguardar(pedido);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        this.encerrado = true;
+        if (this.escritor == null) {
+            return;
+        }
+        this.escritor.interrupt();
+        List<Pedido> pendentes = new ArrayList<>();
+        this.fila.drainTo(pendentes);
+        pendentes.forEach(pedido -> pedido.resultado().completeExceptionally(
+                new ServiceUnavailableException("Aplicação encerrada antes da gravação do aluguel")));
+    }
+
+    private void executar() {
+
+        List<Pedido> lote = new ArrayList<>(this.tamanhoMaximo);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                this.juntar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pedido -> pedido.resultado().completeExceptionally(
+                        new ServiceUnavailableException("Aplicação encerrada antes da gravação do aluguel")));
+                return;
+            }
+            try {
+                this.gravar(lote);
+            } catch (RuntimeException e) {
+                logger.error("Erro inesperado no group commit de alugueis", e);
+                lote.forEach(pedido -> pedido.resultado().completeExceptionally(e));
+            }
+            lote.clear();
+        }
+    }
+
+    // bloqueia até o primeiro pedido e então espera os seguintes até encher o lote ou vencer o prazo
+    private void juntar(List<Pedido> lote) throws InterruptedException {
+
+        lote.add(this.fila.take());
+        var prazo = System.nanoTime() + this.esperaMaximaNanos;
+        while (lote.size() < this.tamanhoMaximo) {
+            this.fila.drainTo(lote, this.tamanhoMaximo - lote.size());
+            var restante = prazo - System.nanoTime();
+            if (lote.size() >= this.tamanhoMaximo || restante <= 0) {
+                return;
+            }
+            var proximo = this.fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    private void gravar(List<Pedido> lote) {
+
+        var alugueis = lote.stream().map(Pedido::aluguel).toList();
+        var inicio = System.nanoTime();
+        int[] linhas;
+        try {
+            linhas = this.transactionTemplate.execute(status -> {
+                var inseridas = this.aluguelRepository.saveAllCalculandoValor(alugueis);
+                // só os alugueis inseridos recebem id
+                this.aluguelLeituraRepository.atualizar(alugueis.stream()
+                        .map(Aluguel::getId)
+                        .filter(Objects::nonNull)
+                        .toList());
+                return inseridas;
+            });
+        } catch (DataAccessException e) {
+            // uma pessoa inexistente viola a chave estrangeira e desfaz o lote inteiro
+            this.gravarUmPorUm(lote);
+            return;
+        }
+        this.commit.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        this.tamanhoLote.record(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            this.concluir(lote.get(i), linhas[i]);
+        }
+    }
+
+    private void gravarUmPorUm(List<Pedido> lote) {
+
+        for (var pedido : lote) {
+            var inicio = System.nanoTime();
+            try {
+                var linhas = this.transactionTemplate.execute(status -> this.gravarUm(pedido.aluguel()));
+                this.commit.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                this.tamanhoLote.record(1);
+                this.concluir(pedido, linhas);
+            } catch (RuntimeException e) {
+                pedido.resultado().completeExceptionally(e);
+            }
+        }
+    }
+
+    // chamado dentro de uma transação
+    private int gravarUm(Aluguel aluguel) {
+
+        var linhas = this.aluguelRepository.saveCalculandoValor(aluguel);
+        if (linhas == 1) {
+            this.aluguelLeituraRepository.atualizar(List.of(aluguel.getId()));
+        }
+        return linhas;
+    }
+
+    // ainda na fila, o pedido sai sem ser gravado; fora dela, já está no lote em gravação e o resultado vem do commit
+    private int aguardar(Pedido pedido) throws ExecutionException {
+
+        try {
+            return pedido.resultado().get(this.tempoLimiteNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (this.fila.remove(pedido)) {
+                throw new ServiceUnavailableException("Gravação de alugueis sobrecarregada, tente novamente");
+            }
+            try {
+                return pedido.resultado().join();
+            } catch (CompletionException falha) {
+                throw new ExecutionException(falha.getCause());
+            }
+        }
+    }
+
+    private void concluir(Pedido pedido, int linhas) {
+
+        this.espera.record(System.nanoTime() - pedido.entrada(), TimeUnit.NANOSECONDS);
+        pedido.resultado().complete(linhas);
+    }
+
+    private record Pedido(Aluguel aluguel, CompletableFuture<Integer> resultado, long entrada) {
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Remonta o modelo de leitura {@code alugueis_leitura} a partir de {@code alugueis}, {@code pessoas} e
+ * {@code veiculos}, para recuperar o modelo depois de gravações feitas direto no banco.
+ * <p>
+ * Roda na inicialização com {@code --locatech.alugueis.leitura.reconstruir=true}, em uma única transação:
+ * as leituras continuam vendo o modelo anterior até o commit.
+ */
+@Component
+public class AluguelLeituraReconstrucao implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AluguelLeituraReconstrucao.class);
+
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconstruirNaInicializacao;
+
+    public AluguelLeituraReconstrucao(
+            AluguelLeituraRepository aluguelLeituraRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${locatech.alugueis.leitura.reconstruir:false}") boolean reconstruirNaInicializacao
+    ) {
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reconstruirNaInicializacao = reconstruirNaInicializacao;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (this.reconstruirNaInicializacao) {
+            this.reconstruir();
+        }
+    }
+
+    public int reconstruir() {
+
+        var inicio = System.nanoTime();
+        var alugueis = this.transactionTemplate.execute(status -> this.aluguelLeituraRepository.reconstruir());
+        logger.info("Modelo de leitura de alugueis reconstruído: {} alugueis em {} ms", alugueis,
+                (System.nanoTime() - inicio) / 1_000_000);
+        return alugueis;
+    }
+}
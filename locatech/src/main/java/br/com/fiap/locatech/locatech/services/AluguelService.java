@@ -0,0 +1,325 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.dtos.CotacaoDTO;
+import br.com.fiap.locatech.locatech.dtos.CotacaoRequestDTO;
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.ConflictException;
+import br.com.fiap.locatech.locatech.exceptions.PreconditionFailedException;
+import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
+import br.com.fiap.locatech.locatech.indexes.DisponibilidadeIndex;
+import br.com.fiap.locatech.locatech.indexes.RelatorioIndex;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class AluguelService {
+
+    private static final int MAXIMO_COTACOES = 1_000;
+    private static final String FK_PESSOA = "FK_ALUGUEIS_PESSOA";
+    private static final String FK_VEICULO = "FK_ALUGUEIS_VEICULO";
+
+    private final AluguelRepository aluguelRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final DisponibilidadeIndex disponibilidadeIndex;
+    private final RelatorioIndex relatorioIndex;
+    private final LoteExecutor loteExecutor;
+    private final VeiculoLocks veiculoLocks;
+    private final AluguelGroupCommit aluguelGroupCommit;
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AluguelArquivamento aluguelArquivamento;
+
+    public AluguelService(AluguelRepository aluguelRepository, VeiculoRepository veiculoRepository,
+                          DisponibilidadeIndex disponibilidadeIndex, RelatorioIndex relatorioIndex,
+                          LoteExecutor loteExecutor, VeiculoLocks veiculoLocks,
+                          AluguelGroupCommit aluguelGroupCommit, AluguelLeituraRepository aluguelLeituraRepository,
+                          TransactionTemplate transactionTemplate, AluguelArquivamento aluguelArquivamento) {
+        this.aluguelRepository = aluguelRepository;
+        this.veiculoRepository = veiculoRepository;
+        this.disponibilidadeIndex = disponibilidadeIndex;
+        this.relatorioIndex = relatorioIndex;
+        this.loteExecutor = loteExecutor;
+        this.veiculoLocks = veiculoLocks;
+        this.aluguelGroupCommit = aluguelGroupCommit;
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.aluguelArquivamento = aluguelArquivamento;
+    }
+
+    // alugueis fora da tabela principal são procurados no arquivo
+    public Optional<Aluguel> findById(Long id, List<String> campos) {
+
+        var aluguel = campos == null || campos.isEmpty()
+                ? this.aluguelRepository.findById(id).or(() -> this.aluguelRepository.findArquivadoById(id))
+                : this.aluguelRepository.findById(id, campos).or(() -> this.aluguelRepository.findArquivadoById(id, campos));
+        return Optional.ofNullable(aluguel.orElseThrow(() -> new ResourceNotFoundException("Aluguel não encontrado")));
+    }
+
+    public List<Aluguel> findAllAlugueis(int page, int size, List<String> campos, boolean incluirArquivados) {
+
+        int offset = (page - 1) * size;
+        if (campos == null || campos.isEmpty()) {
+            return incluirArquivados
+                    ? this.aluguelRepository.findAllComArquivados(size, offset)
+                    : this.aluguelRepository.findAll(size, offset);
+        }
+        return incluirArquivados
+                ? this.aluguelRepository.findAllComArquivados(size, offset, campos)
+                : this.aluguelRepository.findAll(size, offset, campos);
+    }
+
+    public void exportarAlugueis(Consumer<Aluguel> consumer) {
+        this.aluguelRepository.exportAll(consumer);
+    }
+
+    public CursorPageDTO<Aluguel> findAlugueisAfter(String after, int size, List<String> campos, boolean incluirArquivados) {
+
+        if (size < 1) {
+            throw new BadRequestException("O tamanho da página deve ser maior que zero");
+        }
+        var cursor = CursorCodec.decode(after);
+        List<Aluguel> alugueis;
+        if (campos == null || campos.isEmpty()) {
+            alugueis = incluirArquivados
+                    ? this.aluguelRepository.findAllAfterComArquivados(cursor, size + 1)
+                    : this.aluguelRepository.findAllAfter(cursor, size + 1);
+        } else {
+            alugueis = incluirArquivados
+                    ? this.aluguelRepository.findAllAfterComArquivados(cursor, size + 1, campos)
+                    : this.aluguelRepository.findAllAfter(cursor, size + 1, campos);
+        }
+        return CursorCodec.toPage(alugueis, size, Aluguel::getId);
+    }
+
+    public Aluguel saveAluguel(AluguelRequestDTO aluguel) {
+
+        // a verificação no índice e a gravação precisam acontecer sem outra reserva do mesmo veículo no meio
+        try (var trava = this.veiculoLocks.travar(aluguel.veiculoId())) {
+            this.validarPeriodo(aluguel.veiculoId(), aluguel.dataInicio(), aluguel.dataFim(), null);
+            var aluguelEntity = new Aluguel(aluguel, null);
+            try {
+                var save = this.aluguelGroupCommit.salvar(aluguelEntity);
+                if (save == 0) {
+                    throw new ResourceNotFoundException("Veículo não encontrado");
+                }
+            } catch (DataIntegrityViolationException e) {
+                // a violação traz o nome da chave estrangeira (V7); qualquer outra segue como erro
+                if (violou(e, FK_PESSOA)) {
+                    throw new ResourceNotFoundException("Pessoa não encontrada");
+                }
+                if (violou(e, FK_VEICULO)) {
+                    throw new ResourceNotFoundException("Veículo não encontrado");
+                }
+                throw e;
+            }
+            this.disponibilidadeIndex.adicionar(aluguelEntity);
+            this.relatorioIndex.adicionar(aluguelEntity);
+            return aluguelEntity;
+        }
+    }
+
+    public LoteResultadoDTO saveAlugueis(Iterator<AluguelRequestDTO> alugueis) {
+
+        // o índice só recebe os alugueis depois que o bloco é gravado, então sobreposições entre itens do
+        // mesmo bloco são verificadas aqui; as dos blocos anteriores já estão no índice
+        Map<Long, List<Aluguel>> aceitosPorVeiculo = new HashMap<>();
+        return this.loteExecutor.executar(
+                alugueis,
+                // cada bloco trava só os seus veículos, e só até os seus alugueis entrarem no índice
+                bloco -> {
+                    aceitosPorVeiculo.clear();
+                    return this.veiculoLocks.travar(bloco.stream()
+                            .map(AluguelRequestDTO::veiculoId)
+                            .filter(Objects::nonNull)
+                            .toList());
+                },
+                aluguel -> {
+                    this.validarPeriodo(aluguel.veiculoId(), aluguel.dataInicio(), aluguel.dataFim(), null);
+                    var aceitos = aceitosPorVeiculo.computeIfAbsent(aluguel.veiculoId(), id -> new ArrayList<>());
+                    for (var aceito : aceitos) {
+                        if (aceito.getDataInicio().isBefore(aluguel.dataFim()) && aluguel.dataInicio().isBefore(aceito.getDataFim())) {
+                            throw new ConflictException("Veículo já está alugado no período informado por outro item do lote");
+                        }
+                    }
+                    var aluguelEntity = this.calcularAluguel(aluguel);
+                    aceitos.add(aluguelEntity);
+                    return aluguelEntity;
+                },
+                chunk -> {
+                    var inseridos = this.aluguelRepository.saveAll(chunk);
+                    this.aluguelLeituraRepository.atualizar(chunk.stream().map(Aluguel::getId).toList());
+                    return inseridos;
+                },
+                aluguel -> {
+                    this.disponibilidadeIndex.adicionar(aluguel);
+                    this.relatorioIndex.adicionar(aluguel);
+                }
+        );
+    }
+
+    /**
+     * Calcula o valor de cada período informado sem gravar nada, buscando todos os veículos em uma única
+     * consulta. Itens com veículo inexistente ou período inválido voltam com o motivo em {@code erro}.
+     */
+    public List<CotacaoDTO> cotarAlugueis(List<CotacaoRequestDTO> cotacoes) {
+
+        if (cotacoes.size() > MAXIMO_COTACOES) {
+            throw new BadRequestException("Informe no máximo " + MAXIMO_COTACOES + " cotações por requisição");
+        }
+        var ids = cotacoes.stream()
+                .map(CotacaoRequestDTO::veiculoId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Veiculo> veiculos = ids.isEmpty()
+                ? Map.of()
+                : this.veiculoRepository.findAllByIds(ids).stream()
+                        .collect(Collectors.toMap(Veiculo::getId, Function.identity()));
+        return cotacoes.stream()
+                .map(cotacao -> this.cotar(cotacao, veiculos.get(cotacao.veiculoId())))
+                .toList();
+    }
+
+    public void updateAluguel(Aluguel aluguel, Long id, Long versao) {
+
+        try (var trava = this.travarAluguel(id, aluguel.getVeiculoId())) {
+            this.validarPeriodo(aluguel.getVeiculoId(), aluguel.getDataInicio(), aluguel.getDataFim(), id);
+            this.transactionTemplate.executeWithoutResult(status -> {
+                var update = this.aluguelRepository.update(aluguel, id, versao);
+                if (update == 0) {
+                    throw this.naoAlterado(id, versao);
+                }
+                this.aluguelLeituraRepository.atualizar(List.of(id));
+            });
+            aluguel.setId(id);
+            this.disponibilidadeIndex.adicionar(aluguel);
+            this.relatorioIndex.adicionar(aluguel);
+        }
+    }
+
+    public void deleteAluguel(Long id, Long versao) {
+
+        try (var trava = this.travarAluguel(id, null)) {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                var delete = this.aluguelRepository.delete(id, versao);
+                if (delete == 0) {
+                    throw this.naoAlterado(id, versao);
+                }
+                this.aluguelLeituraRepository.remover(id);
+            });
+            this.disponibilidadeIndex.remover(id);
+            this.relatorioIndex.remover(id);
+        }
+    }
+
+    // trava o veículo atual do aluguel e o novo; se o aluguel trocou de veículo antes de a trava ser obtida, tenta de novo
+    private VeiculoLocks.Trava travarAluguel(Long aluguelId, Long novoVeiculoId) {
+
+        while (true) {
+            var atual = this.disponibilidadeIndex.veiculoDoAluguel(aluguelId);
+            List<Long> veiculoIds = new ArrayList<>(2);
+            atual.ifPresent(veiculoIds::add);
+            if (novoVeiculoId != null) {
+                veiculoIds.add(novoVeiculoId);
+            }
+            var trava = this.veiculoLocks.travar(veiculoIds);
+            if (this.disponibilidadeIndex.veiculoDoAluguel(aluguelId).equals(atual)) {
+                return trava;
+            }
+            trava.close();
+        }
+    }
+
+    // nenhuma linha alterada: o aluguel não existe, foi arquivado ou já não está na versão esperada
+    private RuntimeException naoAlterado(Long id, Long versao) {
+
+        if (this.aluguelRepository.findArquivadoById(id).isPresent()) {
+            return new ConflictException("Alugueis arquivados não podem ser alterados");
+        }
+        if (versao != null && this.aluguelRepository.findById(id).isPresent()) {
+            return new PreconditionFailedException("O aluguel foi alterado por outra requisição");
+        }
+        return new ResourceNotFoundException("Aluguel não encontrado");
+    }
+
+    private void validarPeriodo(Long veiculoId, LocalDate dataInicio, LocalDate dataFim, Long aluguelId) {
+
+        if (dataInicio == null || dataFim == null || dataFim.isBefore(dataInicio)) {
+            throw new BadRequestException("A data fim do aluguel deve ser igual ou posterior à data de início");
+        }
+        // os alugueis arquivados não estão no índice; uma reserva antes do corte poderia se sobrepor a eles
+        var corte = this.aluguelArquivamento.corte();
+        if (corte.isPresent() && dataInicio.isBefore(corte.get()) && !this.mantemInicio(aluguelId, veiculoId, dataInicio)) {
+            throw new BadRequestException("A data de início do aluguel deve ser igual ou posterior a " + corte.get());
+        }
+        if (this.disponibilidadeIndex.conflita(veiculoId, dataInicio, dataFim, aluguelId)) {
+            throw new ConflictException("Veículo já está alugado no período informado");
+        }
+    }
+
+    // um aluguel em andamento que fica no mesmo veículo e não começa mais cedo não alcança os arquivados, que
+    // terminaram antes do seu início; pode, por exemplo, ser prorrogado mesmo tendo começado antes do corte
+    private boolean mantemInicio(Long aluguelId, Long veiculoId, LocalDate dataInicio) {
+
+        return aluguelId != null
+                && this.disponibilidadeIndex.veiculoDoAluguel(aluguelId).equals(Optional.ofNullable(veiculoId))
+                && this.disponibilidadeIndex.inicioDoAluguel(aluguelId).filter(inicio -> !dataInicio.isBefore(inicio)).isPresent();
+    }
+
+    private static boolean violou(DataIntegrityViolationException e, String restricao) {
+
+        var mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toUpperCase().contains(restricao);
+    }
+
+    private CotacaoDTO cotar(CotacaoRequestDTO cotacao, Veiculo veiculo) {
+
+        if (cotacao.dataInicio() == null || cotacao.dataFim() == null || cotacao.dataFim().isBefore(cotacao.dataInicio())) {
+            return CotacaoDTO.erro(cotacao, "A data fim do aluguel deve ser igual ou posterior à data de início");
+        }
+        if (veiculo == null) {
+            return CotacaoDTO.erro(cotacao, "Veículo não encontrado");
+        }
+        var dias = ChronoUnit.DAYS.between(cotacao.dataInicio(), cotacao.dataFim());
+        var disponivel = !this.disponibilidadeIndex.conflita(veiculo.getId(), cotacao.dataInicio(), cotacao.dataFim(), null);
+        return new CotacaoDTO(veiculo.getId(), cotacao.dataInicio(), cotacao.dataFim(), dias, veiculo.getValorDiaria(),
+                calcularValor(veiculo.getValorDiaria(), cotacao.dataInicio(), cotacao.dataFim()), disponivel, null);
+    }
+
+    private Aluguel calcularAluguel(AluguelRequestDTO aluguelRequestDTO) {
+
+        var veiculo = this.veiculoRepository.findById(aluguelRequestDTO.veiculoId())
+                .orElseThrow(() -> new ResourceNotFoundException("Veículo não encontrado"));
+
+        var valor = calcularValor(veiculo.getValorDiaria(), aluguelRequestDTO.dataInicio(), aluguelRequestDTO.dataFim());
+        return new Aluguel(aluguelRequestDTO, valor);
+    }
+
+    // mesma regra do INSERT ... SELECT de saveCalculandoValor: diária vezes os dias entre as datas
+    private static BigDecimal calcularValor(BigDecimal valorDiaria, LocalDate dataInicio, LocalDate dataFim) {
+        return valorDiaria.multiply(BigDecimal.valueOf(ChronoUnit.DAYS.between(dataInicio, dataFim)));
+    }
+}
\ No newline at end of file
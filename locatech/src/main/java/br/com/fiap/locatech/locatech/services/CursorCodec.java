@@ -0,0 +1,51 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Codifica o último id lido como um cursor opaco para a paginação por chave (keyset).
+ */
+public final class CursorCodec {
+
+    private static final String PREFIXO = "id:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Recebe até {@code size + 1} registros; o registro excedente indica que existe uma próxima página.
+     */
+    public static <T> CursorPageDTO<T> toPage(List<T> registros, int size, Function<T, Long> id) {
+        if (registros.size() <= size) {
+            return new CursorPageDTO<>(registros, null);
+        }
+        var content = registros.subList(0, size);
+        return new CursorPageDTO<>(content, encode(id.apply(content.get(size - 1))));
+    }
+}
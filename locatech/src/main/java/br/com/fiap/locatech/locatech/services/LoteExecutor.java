@@ -0,0 +1,151 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.LoteFalhaDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Executa gravações em lote em blocos de {@code locatech.lote.tamanho-chunk} itens: lê os itens do bloco, valida
+ * cada um com o Bean Validation, prepara os válidos e grava o bloco em uma transação própria. Só o bloco atual
+ * fica em memória, então o lote pode vir de um corpo de requisição lido aos poucos.
+ * Uma falha de banco desfaz o bloco em que ocorreu; os itens do bloco são então gravados um a um, cada um
+ * na sua transação, e só os que falharem de novo são reportados.
+ */
+@Component
+public class LoteExecutor {
+
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoChunk;
+
+    public LoteExecutor(
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${locatech.lote.tamanho-chunk:500}") int tamanhoChunk
+    ) {
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoChunk = tamanhoChunk;
+    }
+
+    /**
+     * @param preparar   converte um item válido no registro a gravar; exceções lançadas aqui viram falha do item
+     * @param gravar     grava um bloco de registros, dentro da transação do bloco
+     * @param aposGravar executado para cada registro depois que o bloco foi confirmado
+     */
+    public <T, R> LoteResultadoDTO executar(
+            Iterator<T> itens,
+            Function<T, R> preparar,
+            Function<List<R>, int[]> gravar,
+            Consumer<R> aposGravar
+    ) {
+        return this.executar(itens, bloco -> () -> { }, preparar, gravar, aposGravar);
+    }
+
+    /**
+     * @param itens  lidos um bloco por vez; um item que não pôde ser lido ({@code next} lança
+     *               {@link BadRequestException}) vira falha da sua posição e a leitura continua
+     * @param travar chamado com os itens válidos de cada bloco antes de prepará-los; a trava devolvida é liberada
+     *               depois do {@code aposGravar} do bloco, então cada bloco só segura as travas dos seus itens
+     */
+    public <T, R> LoteResultadoDTO executar(
+            Iterator<T> itens,
+            Function<List<T>, VeiculoLocks.Trava> travar,
+            Function<T, R> preparar,
+            Function<List<R>, int[]> gravar,
+            Consumer<R> aposGravar
+    ) {
+        List<LoteFalhaDTO> falhas = new ArrayList<>();
+        int total = 0;
+        int inseridos = 0;
+
+        while (itens.hasNext()) {
+            List<Integer> posicoes = new ArrayList<>();
+            List<T> validos = new ArrayList<>();
+            for (int lidos = 0; lidos < this.tamanhoChunk && itens.hasNext(); lidos++, total++) {
+                T item;
+                try {
+                    item = itens.next();
+                } catch (BadRequestException e) {
+                    falhas.add(new LoteFalhaDTO(total, List.of(mensagem(e))));
+                    continue;
+                }
+                var erros = this.validar(item);
+                if (erros.isEmpty()) {
+                    posicoes.add(total);
+                    validos.add(item);
+                } else {
+                    falhas.add(new LoteFalhaDTO(total, erros));
+                }
+            }
+            if (validos.isEmpty()) {
+                continue;
+            }
+
+            try (var trava = travar.apply(validos)) {
+                List<Integer> indices = new ArrayList<>();
+                List<R> registros = new ArrayList<>();
+                for (int j = 0; j < validos.size(); j++) {
+                    try {
+                        registros.add(preparar.apply(validos.get(j)));
+                        indices.add(posicoes.get(j));
+                    } catch (RuntimeException e) {
+                        falhas.add(new LoteFalhaDTO(posicoes.get(j), List.of(mensagem(e))));
+                    }
+                }
+                if (registros.isEmpty()) {
+                    continue;
+                }
+                try {
+                    this.transactionTemplate.executeWithoutResult(status -> gravar.apply(registros));
+                    registros.forEach(aposGravar);
+                    inseridos += registros.size();
+                } catch (DataAccessException e) {
+                    // um item inválido desfaz o bloco inteiro: os itens são regravados um a um para isolá-lo
+                    for (int j = 0; j < registros.size(); j++) {
+                        var registro = registros.get(j);
+                        try {
+                            this.transactionTemplate.executeWithoutResult(status -> gravar.apply(List.of(registro)));
+                            aposGravar.accept(registro);
+                            inseridos++;
+                        } catch (DataAccessException erro) {
+                            falhas.add(new LoteFalhaDTO(indices.get(j),
+                                    List.of("Erro ao gravar o item: " + mensagem(erro.getMostSpecificCause()))));
+                        }
+                    }
+                }
+            }
+        }
+
+        falhas.sort(Comparator.comparingInt(LoteFalhaDTO::indice));
+        return new LoteResultadoDTO(total, inseridos, falhas);
+    }
+
+    // List.of não aceita nulos, e uma exceção sem mensagem derrubaria o lote inteiro
+    private static String mensagem(Throwable e) {
+        return Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+    }
+
+    private List<String> validar(Object item) {
+
+        if (item == null) {
+            return List.of("Item nulo");
+        }
+        return this.validator.validate(item).stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.entities.Pessoa;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.PreconditionFailedException;
+import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
+import br.com.fiap.locatech.locatech.indexes.PessoaBuscaIndex;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import br.com.fiap.locatech.locatech.repositories.PessoaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Service
+public class PessoaService {
+
+    private final PessoaRepository pessoaRepository;
+    private final PessoaBuscaIndex pessoaBuscaIndex;
+    private final LoteExecutor loteExecutor;
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PessoaService(PessoaRepository pessoaRepository, PessoaBuscaIndex pessoaBuscaIndex, LoteExecutor loteExecutor,
+                         AluguelLeituraRepository aluguelLeituraRepository, TransactionTemplate transactionTemplate) {
+        this.pessoaRepository = pessoaRepository;
+        this.pessoaBuscaIndex = pessoaBuscaIndex;
+        this.loteExecutor = loteExecutor;
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Optional<Pessoa> findById(Long id, List<String> campos) {
+
+        var pessoa = campos == null || campos.isEmpty()
+                ? this.pessoaRepository.findById(id)
+                : this.pessoaRepository.findById(id, campos);
+        return Optional.ofNullable(pessoa.orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada")));
+    }
+    
+    public List<Pessoa> findAllPessoas(int page, int size, List<String> campos) {
+
+        int offset = (page - 1) * size;
+        if (campos == null || campos.isEmpty()) {
+            return this.pessoaRepository.findAll(size, offset);
+        }
+        return this.pessoaRepository.findAll(size, offset, campos);
+    }
+
+    public void exportarPessoas(Consumer<Pessoa> consumer) {
+        this.pessoaRepository.exportAll(consumer);
+    }
+
+    public CursorPageDTO<Pessoa> findPessoasAfter(String after, int size, List<String> campos) {
+
+        if (size < 1) {
+            throw new BadRequestException("O tamanho da página deve ser maior que zero");
+        }
+        var pessoas = campos == null || campos.isEmpty()
+                ? this.pessoaRepository.findAllAfter(CursorCodec.decode(after), size + 1)
+                : this.pessoaRepository.findAllAfter(CursorCodec.decode(after), size + 1, campos);
+        return CursorCodec.toPage(pessoas, size, Pessoa::getId);
+    }
+
+    public List<Pessoa> buscarPessoas(String consulta, int limite) {
+
+        if (limite < 1 || limite > 100) {
+            throw new BadRequestException("O limite deve estar entre 1 e 100");
+        }
+        return this.pessoaBuscaIndex.buscar(consulta, limite);
+    }
+
+    public void savePessoa(Pessoa pessoa) {
+
+        var save = this.pessoaRepository.save(pessoa);
+        Assert.state(save == 1, "Erro ao salvar pessoa" + pessoa.getNome());
+        this.pessoaBuscaIndex.adicionar(pessoa);
+    }
+
+    public LoteResultadoDTO savePessoas(Iterator<Pessoa> pessoas) {
+
+        return this.loteExecutor.executar(
+                pessoas,
+                pessoa -> pessoa,
+                this.pessoaRepository::saveAll,
+                this.pessoaBuscaIndex::adicionar
+        );
+    }
+
+    public void updatePessoa(Pessoa pessoa, Long id, Long versao) {
+
+        // nome e CPF ficam copiados nos alugueis da pessoa, no modelo de leitura; o UPDATE trava a pessoa até o
+        // commit, e os alugueis gravados nesse meio tempo esperam por ela antes de copiar os valores
+        this.transactionTemplate.executeWithoutResult(status -> {
+            var update = this.pessoaRepository.update(pessoa, id, versao);
+            if (update == 0) {
+                throw this.naoAlterada(id, versao);
+            }
+            this.aluguelLeituraRepository.atualizarPessoa(id, pessoa.getNome(), pessoa.getCpf());
+        });
+        pessoa.setId(id);
+        this.pessoaBuscaIndex.adicionar(pessoa);
+    }
+
+    public void deletePessoa(Long id, Long versao) {
+
+        var delete = this.pessoaRepository.delete(id, versao);
+        if (delete == 0) {
+            throw this.naoAlterada(id, versao);
+        }
+        this.pessoaBuscaIndex.remover(id);
+    }
+
+    // nenhuma linha alterada: a pessoa não existe ou já não está na versão esperada
+    private RuntimeException naoAlterada(Long id, Long versao) {
+
+        if (versao != null && this.pessoaRepository.findById(id).isPresent()) {
+            return new PreconditionFailedException("A pessoa foi alterada por outra requisição");
+        }
+        return new ResourceNotFoundException("Pessoa não encontrada");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.RelatorioMarcaDTO;
+import br.com.fiap.locatech.locatech.dtos.RelatorioMesDTO;
+import br.com.fiap.locatech.locatech.dtos.RelatorioVeiculoDTO;
+import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
+import br.com.fiap.locatech.locatech.indexes.RelatorioIndex;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+public class RelatorioService {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private final RelatorioIndex relatorioIndex;
+
+    public RelatorioService(RelatorioIndex relatorioIndex) {
+        this.relatorioIndex = relatorioIndex;
+    }
+
+    public RelatorioVeiculoDTO relatorioVeiculo(Long veiculoId, YearMonth mes) {
+
+        var marca = this.relatorioIndex.marca(veiculoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Veículo não encontrado"));
+        if (mes == null) {
+            var totais = this.relatorioIndex.porVeiculo(veiculoId);
+            return new RelatorioVeiculoDTO(veiculoId, marca, null, totais.alugueis(), totais.dias(), totais.receita(),
+                    dividir(totais.receita(), totais.dias()), null);
+        }
+        var totais = this.relatorioIndex.porVeiculo(veiculoId, mes);
+        return new RelatorioVeiculoDTO(veiculoId, marca, mes.toString(), totais.alugueis(), totais.dias(), totais.receita(),
+                dividir(totais.receita(), totais.dias()), percentual(totais.dias(), mes.lengthOfMonth()));
+    }
+
+    public List<RelatorioMarcaDTO> relatorioMarcas() {
+
+        return this.relatorioIndex.porMarca().entrySet().stream()
+                .map(entry -> new RelatorioMarcaDTO(entry.getKey(), entry.getValue().alugueis(), entry.getValue().dias(),
+                        entry.getValue().receita(), dividir(entry.getValue().receita(), entry.getValue().dias())))
+                .toList();
+    }
+
+    public RelatorioMesDTO relatorioMes(YearMonth mes) {
+
+        var totais = this.relatorioIndex.porMes(mes);
+        var diasVeiculo = (long) this.relatorioIndex.frota() * mes.lengthOfMonth();
+        return new RelatorioMesDTO(mes.toString(), totais.alugueis(), totais.dias(), totais.receita(),
+                dividir(totais.receita(), mes.lengthOfMonth()), percentual(totais.dias(), diasVeiculo));
+    }
+
+    public void reconstruir() {
+        this.relatorioIndex.reconstruir();
+    }
+
+    private static BigDecimal dividir(BigDecimal valor, long dias) {
+        return dias == 0 ? BigDecimal.ZERO : valor.divide(BigDecimal.valueOf(dias), 2, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal percentual(long dias, long total) {
+        return total == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(dias).multiply(CEM).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.fiap.locatech.locatech.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Locks por veículo distribuídos em um número fixo de listras. Reservas e alterações de um mesmo veículo passam
+ * pela mesma listra e são serializadas; veículos em listras diferentes seguem em paralelo.
+ * <p>
+ * Quando mais de uma listra é necessária, elas são sempre adquiridas em ordem crescente de índice,
+ * o que evita deadlock entre operações que travam os mesmos veículos em ordens diferentes.
+ */
+@Component
+public class VeiculoLocks {
+
+    private final ReentrantLock[] listras;
+
+    public VeiculoLocks(@Value("${locatech.locks.listras:1024}") int listras) {
+
+        var tamanho = listras <= 1 ? 1 : Integer.highestOneBit(listras - 1) << 1;
+        this.listras = IntStream.range(0, tamanho)
+                .mapToObj(i -> new ReentrantLock())
+                .toArray(ReentrantLock[]::new);
+    }
+
+    public Trava travar(Long veiculoId) {
+
+        var lock = this.listras[this.indice(veiculoId)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    public Trava travar(Collection<Long> veiculoIds) {
+
+        var indices = veiculoIds.stream()
+                .mapToInt(this::indice)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int i = 0; i < indices.length; i++) {
+            try {
+                this.listras[indices[i]].lock();
+            } catch (RuntimeException e) {
+                this.liberar(indices, i);
+                throw e;
+            }
+        }
+        return () -> this.liberar(indices, indices.length);
+    }
+
+    int indice(Long veiculoId) {
+
+        var hash = Long.hashCode(veiculoId);
+        return (hash ^ (hash >>> 16)) & (this.listras.length - 1);
+    }
+
+    private void liberar(int[] indices, int quantidade) {
+
+        for (int i = quantidade - 1; i >= 0; i--) {
+            this.listras[indices[i]].unlock();
+        }
+    }
+
+    public interface Trava extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
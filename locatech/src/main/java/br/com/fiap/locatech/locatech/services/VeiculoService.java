@@ -0,0 +1,174 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.CursorPageDTO;
+import br.com.fiap.locatech.locatech.dtos.LoteResultadoDTO;
+import br.com.fiap.locatech.locatech.dtos.VeiculoFiltroDTO;
+import br.com.fiap.locatech.locatech.entities.Veiculo;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.PreconditionFailedException;
+import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
+import br.com.fiap.locatech.locatech.indexes.DisponibilidadeIndex;
+import br.com.fiap.locatech.locatech.indexes.RelatorioIndex;
+import br.com.fiap.locatech.locatech.indexes.VeiculoFiltroIndex;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import br.com.fiap.locatech.locatech.repositories.VeiculoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Service
+public class VeiculoService {
+
+    private final VeiculoRepository veiculoRepository;
+    private final DisponibilidadeIndex disponibilidadeIndex;
+    private final RelatorioIndex relatorioIndex;
+    private final VeiculoFiltroIndex veiculoFiltroIndex;
+    private final LoteExecutor loteExecutor;
+    private final AluguelLeituraRepository aluguelLeituraRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VeiculoLocks veiculoLocks;
+
+    public VeiculoService(VeiculoRepository veiculoRepository, DisponibilidadeIndex disponibilidadeIndex,
+                          RelatorioIndex relatorioIndex, VeiculoFiltroIndex veiculoFiltroIndex,
+                          LoteExecutor loteExecutor, AluguelLeituraRepository aluguelLeituraRepository,
+                          TransactionTemplate transactionTemplate, VeiculoLocks veiculoLocks) {
+        this.veiculoRepository = veiculoRepository;
+        this.disponibilidadeIndex = disponibilidadeIndex;
+        this.relatorioIndex = relatorioIndex;
+        this.veiculoFiltroIndex = veiculoFiltroIndex;
+        this.loteExecutor = loteExecutor;
+        this.aluguelLeituraRepository = aluguelLeituraRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.veiculoLocks = veiculoLocks;
+    }
+
+    public Optional<Veiculo> findVeiculoById(Long id, List<String> campos) {
+
+        var veiculo = campos == null || campos.isEmpty()
+                ? this.veiculoRepository.findById(id)
+                : this.veiculoRepository.findById(id, campos);
+        return Optional.ofNullable(veiculo.orElseThrow(() -> new ResourceNotFoundException("Veiculo não encontrado")));
+    }
+
+    public List<Veiculo> findAllVeiculos(int page, int size, List<String> campos) {
+
+        int offset = (page - 1) * size;
+        if (campos == null || campos.isEmpty()) {
+            return this.veiculoRepository.findAll(size, offset);
+        }
+        return this.veiculoRepository.findAll(size, offset, campos);
+    }
+
+    public void exportarVeiculos(Consumer<Veiculo> consumer) {
+        this.veiculoRepository.exportAll(consumer);
+    }
+
+    public CursorPageDTO<Veiculo> findVeiculosAfter(String after, int size, List<String> campos) {
+
+        if (size < 1) {
+            throw new BadRequestException("O tamanho da página deve ser maior que zero");
+        }
+        var veiculos = campos == null || campos.isEmpty()
+                ? this.veiculoRepository.findAllAfter(CursorCodec.decode(after), size + 1)
+                : this.veiculoRepository.findAllAfter(CursorCodec.decode(after), size + 1, campos);
+        return CursorCodec.toPage(veiculos, size, Veiculo::getId);
+    }
+
+    public List<Veiculo> findVeiculosDisponiveis(LocalDate inicio, LocalDate fim) {
+
+        if (fim.isBefore(inicio)) {
+            throw new BadRequestException("A data fim deve ser igual ou posterior à data de início");
+        }
+        var ids = this.disponibilidadeIndex.disponiveis(inicio, fim);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return this.veiculoRepository.findAllByIds(ids);
+    }
+
+    public CursorPageDTO<Veiculo> filtrarVeiculos(VeiculoFiltroDTO filtro, String after, int size) {
+
+        if (size < 1) {
+            throw new BadRequestException("O tamanho da página deve ser maior que zero");
+        }
+        if (filtro.anoMin() != null && filtro.anoMax() != null && filtro.anoMax() < filtro.anoMin()) {
+            throw new BadRequestException("O ano máximo deve ser igual ou posterior ao ano mínimo");
+        }
+        if (filtro.valorMin() != null && filtro.valorMax() != null && filtro.valorMax().compareTo(filtro.valorMin()) < 0) {
+            throw new BadRequestException("O valor máximo deve ser igual ou maior que o valor mínimo");
+        }
+        var ids = this.veiculoFiltroIndex.filtrar(filtro, CursorCodec.decode(after), size + 1);
+        var veiculos = ids.isEmpty() ? List.<Veiculo>of() : this.veiculoRepository.findAllByIds(ids);
+        return CursorCodec.toPage(veiculos, size, Veiculo::getId);
+    }
+
+    public void saveVeiculo(Veiculo veiculo) {
+
+        var save = this.veiculoRepository.save(veiculo);
+        Assert.state(save == 1, "Erro ao salvar veiculo" + veiculo.getModelo());
+        this.disponibilidadeIndex.registrarVeiculo(veiculo.getId());
+        this.relatorioIndex.registrarVeiculo(veiculo.getId(), veiculo.getMarca());
+        this.veiculoFiltroIndex.adicionar(veiculo);
+    }
+
+    public LoteResultadoDTO saveVeiculos(Iterator<Veiculo> veiculos) {
+
+        return this.loteExecutor.executar(
+                veiculos,
+                veiculo -> veiculo,
+                this.veiculoRepository::saveAll,
+                veiculo -> {
+                    this.disponibilidadeIndex.registrarVeiculo(veiculo.getId());
+                    this.relatorioIndex.registrarVeiculo(veiculo.getId(), veiculo.getMarca());
+                    this.veiculoFiltroIndex.adicionar(veiculo);
+                }
+        );
+    }
+
+    public void updateVeiculo(Veiculo veiculo, Long id, Long versao) {
+
+        // a trava do veículo ordena a gravação e a atualização dos índices entre escritas concorrentes
+        try (var trava = this.veiculoLocks.travar(id)) {
+            // o modelo fica copiado nos alugueis do veículo, no modelo de leitura; o UPDATE trava o veículo até o
+            // commit, e os alugueis gravados nesse meio tempo esperam por ele antes de copiar o modelo
+            this.transactionTemplate.executeWithoutResult(status -> {
+                var update = this.veiculoRepository.update(veiculo, id, versao);
+                if (update == 0) {
+                    throw this.naoAlterado(id, versao);
+                }
+                this.aluguelLeituraRepository.atualizarVeiculo(id, veiculo.getModelo());
+            });
+            this.relatorioIndex.registrarVeiculo(id, veiculo.getMarca());
+            veiculo.setId(id);
+            this.veiculoFiltroIndex.adicionar(veiculo);
+        }
+    }
+
+    public void deleteVeiculo(Long id, Long versao) {
+
+        try (var trava = this.veiculoLocks.travar(id)) {
+            var delete = this.veiculoRepository.delete(id, versao);
+            if (delete == 0) {
+                throw this.naoAlterado(id, versao);
+            }
+            this.disponibilidadeIndex.removerVeiculo(id);
+            this.relatorioIndex.removerVeiculo(id);
+            this.veiculoFiltroIndex.remover(id);
+        }
+    }
+
+    // nenhuma linha alterada: o veículo não existe ou já não está na versão esperada
+    private RuntimeException naoAlterado(Long id, Long versao) {
+
+        if (versao != null && this.veiculoRepository.findById(id).isPresent()) {
+            return new PreconditionFailedException("O veículo foi alterado por outra requisição");
+        }
+        return new ResourceNotFoundException("Veículo não encontrado");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Dá nome às chaves estrangeiras de {@code alugueis} e {@code alugueis_arquivo}, criadas sem nome em V1 e V6.
+ * <p>
+ * O nome gerado pelo H2 depende do histórico do schema, então não dá para renomeá-las em um script SQL: a
+ * migração procura cada chave pela tabela e pela coluna. Com nomes fixos, uma violação diz qual referência
+ * faltou sem outra consulta.
+ */
+public class V7__nomear_chaves_estrangeiras extends BaseJavaMigration {
+
+    private static final String SQL_FIND_CHAVE =
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc " +
+                    "INNER JOIN information_schema.key_column_usage k " +
+                    "ON k.constraint_schema = tc.constraint_schema AND k.constraint_name = tc.constraint_name " +
+                    "WHERE tc.constraint_type = 'FOREIGN KEY' AND tc.table_schema = CURRENT_SCHEMA " +
+                    "AND tc.table_name = ? AND k.column_name = ?";
+
+    private static final List<Chave> CHAVES = List.of(
+            new Chave("ALUGUEIS", "PESSOA_ID", "FK_ALUGUEIS_PESSOA"),
+            new Chave("ALUGUEIS", "VEICULO_ID", "FK_ALUGUEIS_VEICULO"),
+            new Chave("ALUGUEIS_ARQUIVO", "PESSOA_ID", "FK_ALUGUEIS_ARQUIVO_PESSOA"),
+            new Chave("ALUGUEIS_ARQUIVO", "VEICULO_ID", "FK_ALUGUEIS_ARQUIVO_VEICULO")
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        var conexao = context.getConnection();
+        for (var chave : CHAVES) {
+            var atual = nomeAtual(conexao, chave);
+            try (var statement = conexao.createStatement()) {
+                statement.execute("ALTER TABLE " + chave.tabela() + " RENAME CONSTRAINT \"" + atual + "\" TO " + chave.nome());
+            }
+        }
+    }
+
+    private static String nomeAtual(Connection conexao, Chave chave) throws SQLException {
+
+        try (var statement = conexao.prepareStatement(SQL_FIND_CHAVE)) {
+            statement.setString(1, chave.tabela());
+            statement.setString(2, chave.coluna());
+            try (var rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Chave estrangeira não encontrada em " + chave.tabela() + "." + chave.coluna());
+                }
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private record Chave(String tabela, String coluna, String nome) {
+    }
+}
@@ -27,12 +27,3 @@ CREATE TABLE alugueis (
     FOREIGN KEY (pessoa_id) REFERENCES pessoas (id),
     FOREIGN KEY (veiculo_id) REFERENCES veiculos (id)
 );
-
-INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) VALUES
-    ('Chevrolet', 'Celta', 'ABC-1234', 2010, 'preto', 100.00);
-
-INSERT INTO pessoas (nome, cpf, rg, telefone, email) VALUES
-     ('Pedro Guilherme', '123.456.789-01', '12.345.678-56', '123456789012', 'pedro@email.com');
-
-INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) VALUES
-     (1, 1, '2025-03-15', '2025-12-31', 15000.00);
\ No newline at end of file
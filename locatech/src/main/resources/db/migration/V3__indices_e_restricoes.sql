@@ -0,0 +1,7 @@
+-- chaves naturais
+ALTER TABLE veiculos ADD CONSTRAINT uk_veiculos_placa UNIQUE (placa);
+ALTER TABLE pessoas ADD CONSTRAINT uk_pessoas_cpf UNIQUE (cpf);
+
+-- alugueis de um veículo em um período e alugueis de uma pessoa
+CREATE INDEX idx_alugueis_veiculo_periodo ON alugueis (veiculo_id, data_inicio, data_fim);
+CREATE INDEX idx_alugueis_pessoa ON alugueis (pessoa_id);
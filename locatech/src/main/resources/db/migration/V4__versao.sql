@@ -0,0 +1,4 @@
+-- versão da linha, incrementada a cada UPDATE; usada como ETag e no If-Match
+ALTER TABLE veiculos ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE pessoas ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE alugueis ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,24 @@
+-- modelo de leitura dos alugueis: os campos de exibição de pessoas e veiculos ficam copiados na linha,
+-- para que listagens e detalhes não precisem de junção
+CREATE TABLE alugueis_leitura (
+    id BIGINT PRIMARY KEY,
+    pessoa_id BIGINT NOT NULL,
+    veiculo_id BIGINT NOT NULL,
+    veiculo_modelo VARCHAR(255),
+    pessoa_cpf VARCHAR(255),
+    pessoa_nome VARCHAR(255),
+    data_inicio DATE,
+    data_fim DATE,
+    valor_total DECIMAL(10, 2),
+    versao BIGINT NOT NULL
+);
+
+-- propagação das alterações de pessoas e veiculos
+CREATE INDEX idx_alugueis_leitura_pessoa ON alugueis_leitura (pessoa_id);
+CREATE INDEX idx_alugueis_leitura_veiculo ON alugueis_leitura (veiculo_id);
+
+INSERT INTO alugueis_leitura (id, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, data_inicio, data_fim, valor_total, versao)
+SELECT a.id, a.pessoa_id, a.veiculo_id, v.modelo, p.cpf, p.nome, a.data_inicio, a.data_fim, a.valor_total, a.versao
+FROM alugueis a
+INNER JOIN pessoas p ON a.pessoa_id = p.id
+INNER JOIN veiculos v ON a.veiculo_id = v.id;
@@ -0,0 +1,24 @@
+-- alugueis encerrados há mais tempo que a retenção, movidos de alugueis pelo arquivamento; as linhas já trazem
+-- os campos de exibição de pessoas e veiculos, como o modelo de leitura
+CREATE TABLE alugueis_arquivo (
+    id BIGINT PRIMARY KEY,
+    pessoa_id BIGINT NOT NULL,
+    veiculo_id BIGINT NOT NULL,
+    veiculo_modelo VARCHAR(255),
+    pessoa_cpf VARCHAR(255),
+    pessoa_nome VARCHAR(255),
+    data_inicio DATE,
+    data_fim DATE,
+    valor_total DECIMAL(10, 2),
+    versao BIGINT NOT NULL,
+    arquivado_em TIMESTAMP NOT NULL,
+    FOREIGN KEY (pessoa_id) REFERENCES pessoas (id),
+    FOREIGN KEY (veiculo_id) REFERENCES veiculos (id)
+);
+
+-- relatórios por veículo e propagação das alterações de pessoas e veiculos
+CREATE INDEX idx_alugueis_arquivo_veiculo_periodo ON alugueis_arquivo (veiculo_id, data_inicio, data_fim);
+CREATE INDEX idx_alugueis_arquivo_pessoa ON alugueis_arquivo (pessoa_id);
+
+-- candidatos ao arquivamento
+CREATE INDEX idx_alugueis_data_fim ON alugueis (data_fim);
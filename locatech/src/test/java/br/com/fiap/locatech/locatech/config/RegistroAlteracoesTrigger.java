@@ -0,0 +1,33 @@
+package br.com.fiap.locatech.locatech.config;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Trigger do H2 primário que registra cada linha alterada em {@code alteracoes}, na mesma transação da
+ * alteração: um rollback descarta também o registro. A primeira coluna de todas as tabelas é o {@code id}.
+ */
+public class RegistroAlteracoesTrigger implements Trigger {
+
+    private String tabela;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before, int type) {
+        this.tabela = tableName.toLowerCase();
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+
+        var operacao = oldRow == null ? "I" : newRow == null ? "D" : "U";
+        var linha = newRow == null ? oldRow : newRow;
+        try (var statement = conn.prepareStatement("INSERT INTO alteracoes (tabela, operacao, id) VALUES (?, ?, ?)")) {
+            statement.setString(1, this.tabela);
+            statement.setString(2, operacao);
+            statement.setObject(3, linha[0]);
+            statement.executeUpdate();
+        }
+    }
+}
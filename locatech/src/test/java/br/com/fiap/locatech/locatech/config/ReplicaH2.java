@@ -0,0 +1,100 @@
+package br.com.fiap.locatech.locatech.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Réplica local para os testes: um segundo H2 alimentado pelo log de alterações do primário, sem serviços
+ * externos.
+ * <p>
+ * A réplica é migrada pelo Flyway com os mesmos scripts, então as duas começam iguais. Depois disso, o
+ * {@link RegistroAlteracoesTrigger} anota no primário cada linha inserida, alterada ou removida, e
+ * {@link #sincronizar()} aplica as anotações pendentes copiando a linha atual do primário (ou removendo-a).
+ * Até a próxima sincronização a réplica fica atrasada, como uma réplica assíncrona de verdade. As entradas
+ * aplicadas saem do log; uma transação que ainda não confirmou aparece na sincronização seguinte.
+ */
+public class ReplicaH2 {
+
+    static final List<String> TABELAS = List.of("veiculos", "pessoas", "alugueis", "alugueis_leitura", "alugueis_arquivo");
+
+    private final JdbcTemplate primario;
+    private final JdbcTemplate replica;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public ReplicaH2(JdbcTemplate primario, String url, String username, String password) {
+
+        this.primario = primario;
+        this.replica = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public void iniciar() {
+
+        Flyway.configure()
+                .dataSource(this.url, this.username, this.password)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        // a ordem do log não respeita as chaves estrangeiras entre tabelas
+        this.replica.execute("SET REFERENTIAL_INTEGRITY FALSE");
+
+        this.primario.execute("CREATE TABLE IF NOT EXISTS alteracoes (" +
+                "seq BIGINT AUTO_INCREMENT PRIMARY KEY, tabela VARCHAR(64) NOT NULL, operacao CHAR(1) NOT NULL, id BIGINT NOT NULL)");
+        for (var tabela : TABELAS) {
+            this.primario.execute("CREATE TRIGGER IF NOT EXISTS tr_" + tabela + "_alteracoes " +
+                    "AFTER INSERT, UPDATE, DELETE ON " + tabela + " FOR EACH ROW " +
+                    "CALL '" + RegistroAlteracoesTrigger.class.getName() + "'");
+        }
+    }
+
+    /**
+     * Aplica na réplica as alterações confirmadas no primário desde a última chamada e devolve quantas foram.
+     */
+    public synchronized int sincronizar() {
+
+        var alteracoes = this.primario.query("SELECT seq, tabela, operacao, id FROM alteracoes ORDER BY seq",
+                (rs, rowNum) -> new Alteracao(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)));
+        for (var alteracao : alteracoes) {
+            this.aplicar(alteracao);
+        }
+        if (!alteracoes.isEmpty()) {
+            this.primario.update("DELETE FROM alteracoes WHERE seq <= ?", alteracoes.getLast().seq());
+        }
+        return alteracoes.size();
+    }
+
+    public int contar(String tabela, Long id) {
+        return this.replica.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE id = ?", Integer.class, id);
+    }
+
+    private void aplicar(Alteracao alteracao) {
+
+        // inserção e alteração copiam a linha como está agora; se ela já saiu do primário, sai também da réplica
+        List<Map<String, Object>> linhas = "D".equals(alteracao.operacao())
+                ? List.of()
+                : this.primario.queryForList("SELECT * FROM " + alteracao.tabela() + " WHERE id = ?", alteracao.id());
+        if (linhas.isEmpty()) {
+            this.replica.update("DELETE FROM " + alteracao.tabela() + " WHERE id = ?", alteracao.id());
+            return;
+        }
+
+        var linha = linhas.getFirst();
+        var colunas = new ArrayList<>(linha.keySet());
+        this.replica.update("MERGE INTO " + alteracao.tabela() + " (" + String.join(", ", colunas) + ") KEY (id) VALUES (" +
+                        colunas.stream().map(coluna -> "?").collect(Collectors.joining(", ")) + ")",
+                colunas.stream().map(linha::get).toArray());
+    }
+
+    private record Alteracao(long seq, String tabela, String operacao, long id) {
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.fiap.locatech.locatech.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento entre primário e réplica pela API, com a {@link ReplicaH2} no lugar da réplica: escritas vão para
+ * o primário, leituras de outros clientes vêm da réplica (e só enxergam a escrita depois da sincronização) e o
+ * cliente que acabou de escrever lê do primário enquanto o cookie de aderência vale.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:roteamento-primario;DB_CLOSE_DELAY=-1",
+        "locatech.replica.enabled=true",
+        "locatech.replica.url=jdbc:h2:mem:roteamento-replica;DB_CLOSE_DELAY=-1",
+        "locatech.replica.aderencia=1m",
+        "locatech.limite.enabled=false"
+})
+class RoteamentoDataSourceTest {
+
+    @TestConfiguration
+    static class Replica {
+
+        @Bean(initMethod = "iniciar")
+        ReplicaH2 replicaH2(
+                JdbcTemplate jdbcTemplate,
+                @Value("${locatech.replica.url}") String url,
+                @Value("${spring.datasource.username}") String username,
+                @Value("${spring.datasource.password}") String password
+        ) {
+            return new ReplicaH2(jdbcTemplate, url, username, password);
+        }
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ReplicaH2 replica;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void sincronizar() {
+        this.replica.sincronizar();
+    }
+
+    @Test
+    void escritaVaiParaOPrimarioEChegaNaReplicaPeloLog() throws Exception {
+
+        assertEquals(201, this.criar(this.cliente(), "70000000001", "Pessoa Primario"));
+        var id = this.idDaPessoa("70000000001");
+
+        assertEquals(0, this.replica.contar("pessoas", id));
+        assertTrue(this.replica.sincronizar() > 0);
+        assertEquals(1, this.replica.contar("pessoas", id));
+    }
+
+    @Test
+    void leituraDeOutroClienteVemDaReplica() throws Exception {
+
+        this.criar(this.cliente(), "70000000002", "Pessoa Replica");
+        var id = this.idDaPessoa("70000000002");
+        var leitor = this.cliente();
+
+        assertEquals(404, this.get(leitor, "/pessoas/" + id).statusCode());
+        this.replica.sincronizar();
+        assertEquals(200, this.get(leitor, "/pessoas/" + id).statusCode());
+    }
+
+    @Test
+    void clienteQueEscreveuLeDoPrimarioDuranteAAderencia() throws Exception {
+
+        var escritor = this.cliente();
+        this.criar(escritor, "70000000003", "Pessoa Aderente");
+        var id = this.idDaPessoa("70000000003");
+
+        assertEquals(0, this.replica.contar("pessoas", id));
+        assertEquals(200, this.get(escritor, "/pessoas/" + id).statusCode());
+        assertEquals(404, this.get(this.cliente(), "/pessoas/" + id).statusCode());
+    }
+
+    @Test
+    void alteracaoEExclusaoChegamNaReplicaDepoisDaSincronizacao() throws Exception {
+
+        var escritor = this.cliente();
+        var leitor = this.cliente();
+        this.criar(escritor, "70000000004", "Pessoa Original");
+        var id = this.idDaPessoa("70000000004");
+        this.replica.sincronizar();
+
+        var alteracao = this.enviar(escritor, this.requisicao("/pessoas/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(this.pessoa("70000000004", "Pessoa Alterada")))
+                .build());
+        assertEquals(200, alteracao.statusCode());
+        assertTrue(this.get(leitor, "/pessoas/" + id).body().contains("Pessoa Original"));
+        assertTrue(this.get(escritor, "/pessoas/" + id).body().contains("Pessoa Alterada"));
+        this.replica.sincronizar();
+        assertTrue(this.get(leitor, "/pessoas/" + id).body().contains("Pessoa Alterada"));
+
+        assertEquals(200, this.enviar(escritor, this.requisicao("/pessoas/" + id).DELETE().build()).statusCode());
+        assertEquals(200, this.get(leitor, "/pessoas/" + id).statusCode());
+        this.replica.sincronizar();
+        assertEquals(404, this.get(leitor, "/pessoas/" + id).statusCode());
+    }
+
+    // cada cliente guarda os próprios cookies, como navegadores diferentes
+    private HttpClient cliente() {
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .build();
+    }
+
+    private int criar(HttpClient cliente, String cpf, String nome) throws IOException, InterruptedException {
+
+        return this.enviar(cliente, this.requisicao("/pessoas")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(this.pessoa(cpf, nome)))
+                .build()).statusCode();
+    }
+
+    private String pessoa(String cpf, String nome) {
+        return String.format("{\"nome\":\"%s\",\"cpf\":\"%s\",\"rg\":\"123456789\",\"telefone\":\"11999999999\"," +
+                "\"email\":\"%s@email.com\"}", nome, cpf, cpf);
+    }
+
+    private HttpResponse<String> get(HttpClient cliente, String caminho) throws IOException, InterruptedException {
+        return this.enviar(cliente, this.requisicao(caminho).GET().build());
+    }
+
+    private HttpResponse<String> enviar(HttpClient cliente, HttpRequest requisicao) throws IOException, InterruptedException {
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + this.porta + caminho));
+    }
+
+    private Long idDaPessoa(String cpf) {
+        return this.jdbcTemplate.queryForObject("SELECT id FROM pessoas WHERE cpf = ?", Long.class, cpf);
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.fiap.locatech.locatech.repositories;
+
+import br.com.fiap.locatech.locatech.services.AluguelLeituraReconstrucao;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roda {@code EXPLAIN} em todas as constantes {@code SQL_*} das classes {@code *RepositoryImp} e falha quando
+ * alguma instrução passa a percorrer uma tabela inteira. O banco é populado e analisado antes, para que o
+ * otimizador do H2 escolha os planos com a cardinalidade de um banco real e não com a da carga inicial.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:planos;DB_CLOSE_DELAY=-1",
+        "locatech.bulkhead.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    // leituras que percorrem a tabela inteira por definição
+    private static final Set<String> VARREDURAS_PERMITIDAS = Set.of(
+            // paginação por offset, mantida por compatibilidade; a paginação por cursor usa a chave primária
+            "AluguelRepositoryImp.SQL_FIND_ALL",
+            "AluguelRepositoryImp.SQL_FIND_ALL_COM_ARQUIVADOS",
+            "PessoaRepositoryImp.SQL_FIND_ALL",
+            "VeiculoRepositoryImp.SQL_FIND_ALL",
+            // exportação completa
+            "AluguelRepositoryImp.SQL_EXPORT_ALL",
+            "PessoaRepositoryImp.SQL_EXPORT_ALL",
+            "VeiculoRepositoryImp.SQL_EXPORT_ALL",
+            // carga dos índices em memória na inicialização
+            "AluguelRepositoryImp.SQL_FIND_ALL_PERIODOS",
+            "VeiculoRepositoryImp.SQL_FIND_ALL_IDS",
+            "VeiculoRepositoryImp.SQL_FIND_ALL_MARCAS",
+            // reconstrução completa do modelo de leitura dos alugueis
+            "AluguelLeituraRepositoryImp.SQL_LIMPAR",
+            "AluguelLeituraRepositoryImp.SQL_RECONSTRUIR"
+    );
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AluguelLeituraReconstrucao aluguelLeituraReconstrucao;
+
+    @BeforeAll
+    void popular() {
+
+        this.jdbcTemplate.execute("INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                "SELECT 'Marca ' || MOD(X, 20), 'Modelo ' || MOD(X, 100), 'PLN' || LPAD(CAST(X AS VARCHAR), 7, '0'), 2000 + MOD(X, 25), " +
+                "'cor', 100 FROM SYSTEM_RANGE(1, 5000)");
+        this.jdbcTemplate.execute("INSERT INTO pessoas (nome, cpf, rg, telefone, email) " +
+                "SELECT 'Pessoa ' || X, LPAD(CAST(X AS VARCHAR), 11, '0'), LPAD(CAST(X AS VARCHAR), 9, '0'), '11999999999', 'pessoa' || X || '@email.com' " +
+                "FROM SYSTEM_RANGE(1, 5000)");
+        this.jdbcTemplate.execute("INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) " +
+                "SELECT MOD(X, 5000) + 1, MOD(X, 5000) + 1, DATEADD('DAY', X / 5000 * 5, DATE '2000-01-01'), " +
+                "DATEADD('DAY', X / 5000 * 5 + 5, DATE '2000-01-01'), 500 FROM SYSTEM_RANGE(1, 50000)");
+        this.aluguelLeituraReconstrucao.reconstruir();
+        this.jdbcTemplate.execute("INSERT INTO alugueis_arquivo (id, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, " +
+                "data_inicio, data_fim, valor_total, versao, arquivado_em) " +
+                "SELECT id + 1000000, pessoa_id, veiculo_id, veiculo_modelo, pessoa_cpf, pessoa_nome, DATEADD('YEAR', -10, data_inicio), " +
+                "DATEADD('YEAR', -10, data_fim), valor_total, versao, CURRENT_TIMESTAMP FROM alugueis_leitura");
+        this.jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> instrucoesNaoPercorremTabelas() {
+
+        return this.instrucoes().stream()
+                .filter(instrucao -> !VARREDURAS_PERMITIDAS.contains(instrucao.nome()))
+                .map(instrucao -> DynamicTest.dynamicTest(instrucao.nome(), () -> {
+                    var plano = this.explain(instrucao.sql());
+                    assertFalse(plano.contains(".tableScan"), () -> instrucao.nome() + " percorre a tabela inteira:\n" + plano);
+                }));
+    }
+
+    @Test
+    void varredurasPermitidasExistem() {
+
+        var nomes = this.instrucoes().stream().map(Instrucao::nome).toList();
+        assertFalse(nomes.isEmpty());
+        for (var permitida : VARREDURAS_PERMITIDAS) {
+            assertTrue(nomes.contains(permitida), () -> permitida + " não existe mais e deve sair da lista");
+        }
+    }
+
+    private List<Instrucao> instrucoes() {
+
+        return this.context.getBeansWithAnnotation(Repository.class).values().stream()
+                .<Class<?>>map(AopUtils::getTargetClass)
+                .filter(tipo -> tipo.getSimpleName().endsWith("RepositoryImp"))
+                .distinct()
+                .flatMap(tipo -> Arrays.stream(tipo.getDeclaredFields())
+                        .filter(campo -> Modifier.isStatic(campo.getModifiers()) && campo.getName().startsWith("SQL_"))
+                        .map(campo -> {
+                            ReflectionUtils.makeAccessible(campo);
+                            return new Instrucao(tipo.getSimpleName() + "." + campo.getName(),
+                                    (String) ReflectionUtils.getField(campo, null));
+                        }))
+                .toList();
+    }
+
+    private String explain(String sql) {
+
+        return this.jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (var statement = connection.prepareStatement("EXPLAIN " + NamedParameterUtils.parseSqlStatementIntoString(sql))) {
+                var parametros = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    statement.setObject(i, null);
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private record Instrucao(String nome, String sql) {
+    }
+}
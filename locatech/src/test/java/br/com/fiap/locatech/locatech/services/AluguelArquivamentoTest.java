@@ -0,0 +1,197 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.entities.Aluguel;
+import br.com.fiap.locatech.locatech.exceptions.BadRequestException;
+import br.com.fiap.locatech.locatech.exceptions.ConflictException;
+import br.com.fiap.locatech.locatech.indexes.DisponibilidadeIndex;
+import br.com.fiap.locatech.locatech.repositories.AluguelLeituraRepository;
+import br.com.fiap.locatech.locatech.repositories.AluguelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Arquivamento de alugueis pelo {@link AluguelArquivamento}: os encerrados antes do corte saem de
+ * {@code alugueis} e {@code alugueis_leitura} em lotes, continuam legíveis pelo id e nas listagens com
+ * arquivados, e não podem mais ser alterados nem removidos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:arquivamento;DB_CLOSE_DELAY=-1",
+        "locatech.bulkhead.enabled=false",
+        "locatech.alugueis.arquivo.enabled=true",
+        // a rodada agendada não acontece durante o teste; o arquivamento é chamado direto
+        "locatech.alugueis.arquivo.intervalo=1000d",
+        "locatech.alugueis.arquivo.tamanho-lote=2",
+        "locatech.alugueis.arquivo.pausa=0ms"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AluguelArquivamentoTest {
+
+    private static final int ENCERRADOS = 5;
+    private static final LocalDate INICIO_ENCERRADOS = LocalDate.of(2000, 1, 1);
+    private static final LocalDate INICIO_EM_ANDAMENTO = LocalDate.now().minusYears(2);
+
+    @Autowired
+    private AluguelArquivamento aluguelArquivamento;
+
+    @Autowired
+    private AluguelService aluguelService;
+
+    @Autowired
+    private AluguelRepository aluguelRepository;
+
+    @Autowired
+    private AluguelLeituraRepository aluguelLeituraRepository;
+
+    @Autowired
+    private DisponibilidadeIndex disponibilidadeIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long veiculoId;
+    private Long pessoaId;
+    private List<Long> encerrados;
+    private Long emAndamento;
+    private Long recente;
+    private int arquivados;
+
+    @BeforeAll
+    void arquivar() {
+
+        this.jdbcTemplate.update("INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                "VALUES ('Marca', 'Modelo Arquivo', 'ARQ0000001', 2020, 'cor', 100)");
+        this.jdbcTemplate.update("INSERT INTO pessoas (nome, cpf, rg, telefone, email) " +
+                "VALUES ('Pessoa Arquivo', '88888888888', '888888888', '11999999999', 'arquivo@email.com')");
+        this.veiculoId = this.jdbcTemplate.queryForObject("SELECT id FROM veiculos WHERE placa = 'ARQ0000001'", Long.class);
+        this.pessoaId = this.jdbcTemplate.queryForObject("SELECT id FROM pessoas WHERE cpf = '88888888888'", Long.class);
+
+        // gravados direto no banco: pela API, reservas antes do corte são recusadas
+        for (int i = 0; i < ENCERRADOS; i++) {
+            this.inserir(INICIO_ENCERRADOS.plusDays(i * 10L), INICIO_ENCERRADOS.plusDays(i * 10L + 5));
+        }
+        // começou antes do corte, mas ainda não terminou: fica na tabela principal
+        this.inserir(INICIO_EM_ANDAMENTO, LocalDate.now().plusDays(10));
+        this.inserir(LocalDate.now().plusYears(1), LocalDate.now().plusYears(1).plusDays(5));
+        var ids = this.jdbcTemplate.queryForList("SELECT id FROM alugueis WHERE veiculo_id = ? ORDER BY id", Long.class, this.veiculoId);
+        this.aluguelLeituraRepository.atualizar(ids);
+        ids.forEach(id -> this.aluguelRepository.findById(id).ifPresent(this.disponibilidadeIndex::adicionar));
+        this.encerrados = ids.subList(0, ENCERRADOS);
+        this.emAndamento = ids.get(ENCERRADOS);
+        this.recente = ids.getLast();
+
+        this.arquivados = this.aluguelArquivamento.arquivar();
+    }
+
+    @Test
+    void encerradosSaemDasTabelasPrincipaisEmLotes() {
+
+        assertTrue(this.arquivados >= ENCERRADOS);
+        assertEquals(0, this.contar("alugueis", this.encerrados));
+        assertEquals(0, this.contar("alugueis_leitura", this.encerrados));
+        assertEquals(ENCERRADOS, this.contar("alugueis_arquivo", this.encerrados));
+        assertEquals(1, this.contar("alugueis", List.of(this.recente)));
+        assertEquals(1, this.contar("alugueis_leitura", List.of(this.recente)));
+        // lotes de 2: pelo menos três transações para os cinco encerrados
+        assertTrue(this.meterRegistry.get("locatech.alugueis.arquivo.lote").timer().count() >= 3);
+    }
+
+    @Test
+    void encerradosSaemDoIndiceDeDisponibilidade() {
+
+        this.encerrados.forEach(id -> assertTrue(this.disponibilidadeIndex.veiculoDoAluguel(id).isEmpty()));
+        assertEquals(this.veiculoId, this.disponibilidadeIndex.veiculoDoAluguel(this.recente).orElseThrow());
+        assertThrows(BadRequestException.class, () -> this.aluguelService.saveAluguel(
+                new AluguelRequestDTO(this.pessoaId, this.veiculoId, INICIO_ENCERRADOS, INICIO_ENCERRADOS.plusDays(3))));
+    }
+
+    @Test
+    void emAndamentoAntesDoCortePodeSerProrrogado() {
+
+        var novoFim = LocalDate.now().plusDays(20);
+        var maisCedo = new Aluguel(new AluguelRequestDTO(this.pessoaId, this.veiculoId,
+                INICIO_EM_ANDAMENTO.minusDays(1), novoFim), BigDecimal.TEN);
+        var prorrogacao = new Aluguel(new AluguelRequestDTO(this.pessoaId, this.veiculoId,
+                INICIO_EM_ANDAMENTO, novoFim), BigDecimal.TEN);
+
+        // começar mais cedo poderia alcançar os arquivados
+        assertThrows(BadRequestException.class, () -> this.aluguelService.updateAluguel(maisCedo, this.emAndamento, null));
+        this.aluguelService.updateAluguel(prorrogacao, this.emAndamento, null);
+
+        assertEquals(novoFim, this.aluguelRepository.findById(this.emAndamento).orElseThrow().getDataFim());
+        assertEquals(1, this.contar("alugueis", List.of(this.emAndamento)));
+    }
+
+    @Test
+    void arquivadoContinuaLegivelPeloId() {
+
+        var aluguel = this.aluguelService.findById(this.encerrados.getFirst(), null).orElseThrow();
+
+        assertEquals(INICIO_ENCERRADOS, aluguel.getDataInicio());
+        assertEquals("Pessoa Arquivo", aluguel.getPessoaNome());
+        assertEquals("Modelo Arquivo", aluguel.getVeiculoModelo());
+        var campos = this.aluguelService.findById(this.encerrados.getFirst(), List.of("dataFim")).orElseThrow();
+        assertEquals(INICIO_ENCERRADOS.plusDays(5), campos.getDataFim());
+    }
+
+    @Test
+    void listagensIncluemArquivadosSoQuandoPedido() {
+
+        var semArquivados = this.ids(this.aluguelService.findAllAlugueis(1, 1000, null, false));
+        var comArquivados = this.ids(this.aluguelService.findAllAlugueis(1, 1000, null, true));
+        var porCursor = this.ids(this.aluguelService.findAlugueisAfter(null, 1000, null, true).content());
+
+        assertTrue(semArquivados.contains(this.recente));
+        this.encerrados.forEach(id -> assertFalse(semArquivados.contains(id)));
+        assertTrue(comArquivados.containsAll(this.encerrados));
+        assertTrue(comArquivados.contains(this.recente));
+        assertTrue(porCursor.containsAll(this.encerrados));
+        assertTrue(porCursor.contains(this.recente));
+    }
+
+    @Test
+    void arquivadoNaoPodeSerAlteradoNemRemovido() {
+
+        var id = this.encerrados.getFirst();
+        var alteracao = new Aluguel(new AluguelRequestDTO(this.pessoaId, this.veiculoId,
+                LocalDate.now().plusYears(2), LocalDate.now().plusYears(2).plusDays(3)), BigDecimal.TEN);
+
+        assertThrows(ConflictException.class, () -> this.aluguelService.updateAluguel(alteracao, id, null));
+        assertThrows(ConflictException.class, () -> this.aluguelService.deleteAluguel(id, null));
+        assertEquals(1, this.contar("alugueis_arquivo", List.of(id)));
+    }
+
+    private void inserir(LocalDate inicio, LocalDate fim) {
+
+        this.jdbcTemplate.update("INSERT INTO alugueis (pessoa_id, veiculo_id, data_inicio, data_fim, valor_total) " +
+                "VALUES (?, ?, ?, ?, 500)", this.pessoaId, this.veiculoId, inicio, fim);
+    }
+
+    private int contar(String tabela, List<Long> ids) {
+
+        return ids.stream()
+                .mapToInt(id -> this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE id = ?", Integer.class, id))
+                .sum();
+    }
+
+    private List<Long> ids(List<Aluguel> alugueis) {
+        return alugueis.stream().map(Aluguel::getId).toList();
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.exceptions.ConflictException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reservas concorrentes pelo {@link AluguelService}: nenhuma sobreposição chega ao banco quando várias
+ * threads disputam o mesmo veículo, e veículos em listras diferentes não esperam uns pelos outros.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1",
+        "locatech.bulkhead.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AluguelServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDate INICIO = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private AluguelService aluguelService;
+
+    @Autowired
+    private VeiculoLocks veiculoLocks;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> veiculos;
+    private Long pessoaId;
+
+    @BeforeAll
+    void popular() {
+
+        this.jdbcTemplate.execute("INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                "SELECT 'Marca', 'Modelo', 'CNC' || LPAD(CAST(X AS VARCHAR), 7, '0'), 2020, 'cor', 100 FROM SYSTEM_RANGE(1, 64)");
+        this.jdbcTemplate.update("INSERT INTO pessoas (nome, cpf, rg, telefone, email) " +
+                "VALUES ('Pessoa Concorrente', '99999999999', '999999999', '11999999999', 'concorrente@email.com')");
+        this.veiculos = this.jdbcTemplate.queryForList("SELECT id FROM veiculos WHERE placa LIKE 'CNC%' ORDER BY id", Long.class);
+        this.pessoaId = this.jdbcTemplate.queryForObject("SELECT id FROM pessoas WHERE cpf = '99999999999'", Long.class);
+    }
+
+    @Test
+    void mesmoPeriodoDisputadoPorVariasThreadsGeraUmaUnicaReserva() throws Exception {
+
+        var veiculoId = this.veiculos.get(0);
+        var resultado = this.disputar(THREADS, 1, (thread, tentativa) -> this.reserva(veiculoId, 0, 5));
+
+        assertEquals(1, resultado.reservas());
+        assertEquals(THREADS - 1, resultado.conflitos());
+        assertEquals(1, this.alugueisDoVeiculo(veiculoId));
+    }
+
+    @Test
+    void periodosAleatoriosDoMesmoVeiculoNuncaSeSobrepoem() throws Exception {
+
+        var veiculoId = this.veiculos.get(1);
+        var resultado = this.disputar(THREADS, 50, (thread, tentativa) -> {
+            var random = ThreadLocalRandom.current();
+            return this.reserva(veiculoId, random.nextInt(120), 1 + random.nextInt(6));
+        });
+
+        assertTrue(resultado.reservas() > 0);
+        assertEquals(resultado.reservas(), this.alugueisDoVeiculo(veiculoId));
+        assertEquals(0, this.sobreposicoes(veiculoId));
+    }
+
+    @Test
+    void veiculoEmOutraListraNaoEsperaPelaTrava() throws Exception {
+
+        var travado = this.veiculos.get(2);
+        var livre = this.veiculos.get(3);
+        assertNotEquals(this.veiculoLocks.indice(travado), this.veiculoLocks.indice(livre));
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var trava = this.veiculoLocks.travar(travado);
+            var reservaTravada = executor.submit(() -> this.aluguelService.saveAluguel(this.reserva(travado, 0, 3)));
+            try {
+                var reservaLivre = executor.submit(() -> this.aluguelService.saveAluguel(this.reserva(livre, 0, 3)));
+                reservaLivre.get(10, TimeUnit.SECONDS);
+                assertThrows(TimeoutException.class, () -> reservaTravada.get(200, TimeUnit.MILLISECONDS));
+                assertFalse(reservaTravada.isDone());
+            } finally {
+                trava.close();
+            }
+            reservaTravada.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, this.alugueisDoVeiculo(travado));
+        assertEquals(1, this.alugueisDoVeiculo(livre));
+    }
+
+    @Test
+    void reservasDeVeiculosDiferentesSeguemComUmaListraTravada() throws Exception {
+
+        var porThread = 50;
+        var unico = this.veiculos.get(4);
+        var distintos = this.veiculos.subList(8, 8 + THREADS);
+        assertTrue(distintos.stream().noneMatch(id -> this.veiculoLocks.indice(id) == this.veiculoLocks.indice(unico)));
+
+        // com a listra do veículo único travada, nenhuma reserva dos outros veículos pode depender dela
+        Resultado paralelo;
+        try (var trava = this.veiculoLocks.travar(unico)) {
+            paralelo = this.disputar(THREADS, porThread,
+                    (thread, tentativa) -> this.reserva(distintos.get(thread), tentativa * 5, 5));
+        }
+        var serial = this.disputar(THREADS, porThread,
+                (thread, tentativa) -> this.reserva(unico, (thread * porThread + tentativa) * 5, 5));
+
+        assertEquals(THREADS * porThread, paralelo.reservas());
+        assertEquals(THREADS * porThread, serial.reservas());
+        assertEquals(THREADS * porThread, this.alugueisDoVeiculo(unico));
+        assertEquals(0, this.sobreposicoes(unico));
+        for (var veiculoId : distintos) {
+            assertEquals(porThread, this.alugueisDoVeiculo(veiculoId));
+            assertEquals(0, this.sobreposicoes(veiculoId));
+        }
+    }
+
+    private Resultado disputar(int threads, int tentativas, Reserva reserva) throws Exception {
+
+        var reservas = new AtomicInteger();
+        var conflitos = new AtomicInteger();
+        var largada = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                var thread = t;
+                futuros.add(executor.submit((Callable<Void>) () -> {
+                    largada.await();
+                    for (int tentativa = 0; tentativa < tentativas; tentativa++) {
+                        try {
+                            this.aluguelService.saveAluguel(reserva.criar(thread, tentativa));
+                            reservas.incrementAndGet();
+                        } catch (ConflictException e) {
+                            conflitos.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (var futuro : futuros) {
+                try {
+                    futuro.get(2, TimeUnit.MINUTES);
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Reserva falhou com erro inesperado", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Resultado(reservas.get(), conflitos.get());
+    }
+
+    private AluguelRequestDTO reserva(Long veiculoId, int diaInicial, int dias) {
+        return new AluguelRequestDTO(this.pessoaId, veiculoId, INICIO.plusDays(diaInicial), INICIO.plusDays(diaInicial + dias));
+    }
+
+    private int alugueisDoVeiculo(Long veiculoId) {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alugueis WHERE veiculo_id = ?", Integer.class, veiculoId);
+    }
+
+    private int sobreposicoes(Long veiculoId) {
+
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alugueis a INNER JOIN alugueis b " +
+                "ON a.veiculo_id = b.veiculo_id AND a.id < b.id AND a.data_inicio < b.data_fim AND b.data_inicio < a.data_fim " +
+                "WHERE a.veiculo_id = ?", Integer.class, veiculoId);
+    }
+
+    private interface Reserva {
+        AluguelRequestDTO criar(int thread, int tentativa);
+    }
+
+    private record Resultado(int reservas, int conflitos) {
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.fiap.locatech.locatech.services;
+
+import br.com.fiap.locatech.locatech.dtos.AluguelRequestDTO;
+import br.com.fiap.locatech.locatech.dtos.CotacaoRequestDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Valor de um aluguel que atravessa a virada do ano: de 30/12 a 02/01 são três diárias, tanto na cotação e no
+ * lote, calculados em Java, quanto na reserva, calculada pelo {@code DATEDIFF} do {@code INSERT ... SELECT}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:valor;DB_CLOSE_DELAY=-1",
+        "locatech.bulkhead.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AluguelServiceValorTest {
+
+    private static final BigDecimal DIARIA = new BigDecimal("123.45");
+    private static final BigDecimal TRES_DIARIAS = new BigDecimal("370.35");
+
+    @Autowired
+    private AluguelService aluguelService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> veiculos;
+    private Long pessoaId;
+
+    @BeforeAll
+    void popular() {
+
+        this.jdbcTemplate.execute("INSERT INTO veiculos (marca, modelo, placa, ano, cor, valor_diaria) " +
+                "SELECT 'Marca', 'Modelo', 'VLR' || LPAD(CAST(X AS VARCHAR), 7, '0'), 2020, 'cor', " + DIARIA + " FROM SYSTEM_RANGE(1, 3)");
+        this.jdbcTemplate.update("INSERT INTO pessoas (nome, cpf, rg, telefone, email) " +
+                "VALUES ('Pessoa Valor', '77777777777', '777777777', '11999999999', 'valor@email.com')");
+        this.veiculos = this.jdbcTemplate.queryForList("SELECT id FROM veiculos WHERE placa LIKE 'VLR%' ORDER BY id", Long.class);
+        this.pessoaId = this.jdbcTemplate.queryForObject("SELECT id FROM pessoas WHERE cpf = '77777777777'", Long.class);
+    }
+
+    @Test
+    void cotacaoNaViradaDoAno() {
+
+        var cotacao = this.aluguelService.cotarAlugueis(List.of(
+                new CotacaoRequestDTO(this.veiculos.get(0), dezembro(), janeiro()))).getFirst();
+
+        assertNull(cotacao.erro());
+        assertEquals(3, cotacao.dias());
+        assertEquals(0, TRES_DIARIAS.compareTo(cotacao.valorTotal()));
+    }
+
+    @Test
+    void reservaNaViradaDoAnoCalculadaPeloBanco() {
+
+        var aluguel = this.aluguelService.saveAluguel(
+                new AluguelRequestDTO(this.pessoaId, this.veiculos.get(1), dezembro(), janeiro()));
+
+        assertEquals(0, TRES_DIARIAS.compareTo(this.valorGravado(aluguel.getId())));
+    }
+
+    @Test
+    void loteNaViradaDoAno() {
+
+        var veiculoId = this.veiculos.get(2);
+        var resultado = this.aluguelService.saveAlugueis(List.of(
+                new AluguelRequestDTO(this.pessoaId, veiculoId, dezembro(), janeiro())).iterator());
+
+        assertEquals(1, resultado.inseridos());
+        var id = this.jdbcTemplate.queryForObject("SELECT id FROM alugueis WHERE veiculo_id = ?", Long.class, veiculoId);
+        assertEquals(0, TRES_DIARIAS.compareTo(this.valorGravado(id)));
+    }
+
+    private BigDecimal valorGravado(Long id) {
+        return this.jdbcTemplate.queryForObject("SELECT valor_total FROM alugueis WHERE id = ?", BigDecimal.class, id);
+    }
+
+    // 30/12 de um ano e 02/01 do seguinte, no futuro
+    private static LocalDate dezembro() {
+        return LocalDate.of(LocalDate.now().getYear() + 1, 12, 30);
+    }
+
+    private static LocalDate janeiro() {
+        return LocalDate.of(LocalDate.now().getYear() + 2, 1, 2);
+    }
+}
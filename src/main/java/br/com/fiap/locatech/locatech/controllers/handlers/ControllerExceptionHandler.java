@@ -1,36 +0,0 @@
-package br.com.fiap.locatech.locatech.controllers.handlers;
-
-import br.com.fiap.locatech.locatech.dtos.ResourceNotFoundDTO;
-import br.com.fiap.locatech.locatech.dtos.ValidationErrorDTO;
-import br.com.fiap.locatech.locatech.exceptions.ResourceNotFoundException;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
-import org.springframework.web.bind.annotation.ControllerAdvice;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-
-import java.util.ArrayList;
-import java.util.List;
-
-@ControllerAdvice
-public class ControllerExceptionHandler {
-
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ResourceNotFoundDTO> handlerResourceNotFoundException(ResourceNotFoundException e) {
-
-        var status = HttpStatus.NOT_FOUND;
-        return ResponseEntity.status(status.value()).body(new ResourceNotFoundDTO(e.getMessage(), status.value()));
-    }
-
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ValidationErrorDTO> handlerMethodArgumentNotValidException(MethodArgumentNotValidException e) {
-
-        var status = HttpStatus.BAD_REQUEST;
-        List<String> errors = new ArrayList<>();
-        for (FieldError fieldError : e.getBindingResult().getFieldErrors()) {
-            errors.add(fieldError.getField() + ": " + fieldError.getDefaultMessage());
-        }
-        return ResponseEntity.status(status.value()).body(new ValidationErrorDTO(errors, status.value()));
-    }
-}
\ No newline at end of file